@@ -0,0 +1,53 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.model.PackProblem;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for the parsing of a single line.
+ *
+ * @see PackFileReader#parseLine(String)
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackFileReaderBenchmark {
+    private static final int LINES = 1024;
+
+    @Param({"5", "15", "50"})
+    private int itemCount;
+    @Param({"100"})
+    private int capacity;
+    @Param({"0", "2"})
+    private int precision;
+
+    private final PackFileReader fileReader = new PackFileReader();
+    private String[] lines;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        lines = new PackGenerator(42, itemCount, capacity, precision).nextLines(LINES);
+    }
+
+    @Benchmark
+    public PackProblem parseLine() {
+        next = (next + 1) % LINES;
+        return fileReader.parseLine(lines[next]);
+    }
+}
@@ -0,0 +1,64 @@
+package com.mobiquityinc.packer;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+/**
+ * Generator of synthetic pack lines, in the same format read by {@link PackFileReader}, to be used as benchmark inputs.
+ */
+public class PackGenerator {
+    private final Random random;
+    private final int itemCount;
+    private final int capacity;
+    private final int precision;
+
+    /**
+     * Instantiates a new PackGenerator. Item weights are generated up to the capacity, and costs up to 100.
+     *
+     * @param seed      the seed of the random values, so the inputs are the same across runs
+     * @param itemCount the amount of items of each pack
+     * @param capacity  the maximum weight of each pack
+     * @param precision the amount of decimal places of the weights and costs, from 0 to 2
+     */
+    public PackGenerator(long seed, int itemCount, int capacity, int precision) {
+        this.random = new Random(seed);
+        this.itemCount = itemCount;
+        this.capacity = capacity;
+        this.precision = precision;
+    }
+
+    /**
+     * Generates a new line, representing a pack.
+     *
+     * @return the String representation of the pack
+     */
+    public String nextLine() {
+        StringBuilder line = new StringBuilder().append(capacity).append(" :");
+        for (int i = 1; i <= itemCount; i++) {
+            line.append(" (").append(i)
+                    .append(',').append(nextValue(capacity))
+                    .append(",€").append(nextValue(100))
+                    .append(')');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Generates a batch of lines.
+     *
+     * @param count the amount of lines
+     * @return the generated lines
+     */
+    public String[] nextLines(int count) {
+        String[] lines = new String[count];
+        for (int i = 0; i < count; i++) {
+            lines[i] = nextLine();
+        }
+        return lines;
+    }
+
+    private String nextValue(int max) {
+        long unscaled = (long) (random.nextDouble() * max * Math.pow(10, precision));
+        return BigDecimal.valueOf(unscaled, precision).toPlainString();
+    }
+}
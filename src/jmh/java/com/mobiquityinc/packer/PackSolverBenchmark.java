@@ -0,0 +1,95 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.model.PackProblem;
+import com.mobiquityinc.solver.BranchAndBoundPackSolver;
+import com.mobiquityinc.solver.DynamicProgrammingPackSolver;
+import com.mobiquityinc.solver.FptasPackSolver;
+import com.mobiquityinc.solver.GrayCodePackSolver;
+import com.mobiquityinc.solver.HeuristicPackSolver;
+import com.mobiquityinc.solver.MeetInTheMiddlePackSolver;
+import com.mobiquityinc.solver.PackSolver;
+import com.mobiquityinc.solver.ReducingPackSolver;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.BitSet;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmarks for each of the {@link PackSolver} implementations, which are used by {@code PackProcessor.pickItems} to choose the items
+ * of a single pack.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackSolverBenchmark {
+    private static final int PROBLEMS = 64;
+
+    @Param({"heuristic", "dynamic-programming", "meet-in-the-middle", "branch-and-bound", "gray-code", "fptas", "reducing"})
+    private String solverName;
+    @Param({"15", "30"})
+    private int itemCount;
+    @Param({"10", "100"})
+    private int capacity;
+    @Param({"0", "2"})
+    private int precision;
+
+    private PackSolver solver;
+    private PackProblem[] problems;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        solver = solver(solverName);
+        PackGenerator generator = new PackGenerator(42, itemCount, capacity, precision);
+        problems = new PackProblem[PROBLEMS];
+        for (int i = 0; i < PROBLEMS; i++) {
+            problems[i] = PackLineScanner.scan(generator.nextLine());
+        }
+    }
+
+    @Benchmark
+    public BitSet solve() {
+        next = (next + 1) % PROBLEMS;
+        return solver.solve(problems[next]);
+    }
+
+    /**
+     * Instantiates a solver by its benchmark parameter name.
+     *
+     * @param name the name of the solver
+     * @return a new instance of the solver
+     */
+    static PackSolver solver(String name) {
+        switch (name) {
+            case "heuristic":
+                return new HeuristicPackSolver();
+            case "dynamic-programming":
+                return new DynamicProgrammingPackSolver();
+            case "meet-in-the-middle":
+                return new MeetInTheMiddlePackSolver();
+            case "branch-and-bound":
+                return new BranchAndBoundPackSolver();
+            case "gray-code":
+                return new GrayCodePackSolver();
+            case "fptas":
+                return new FptasPackSolver(0.1);
+            case "reducing":
+                return new ReducingPackSolver(new DynamicProgrammingPackSolver());
+            default:
+                throw new IllegalArgumentException("Unknown solver: " + name);
+        }
+    }
+}
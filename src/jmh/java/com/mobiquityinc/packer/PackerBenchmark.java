@@ -0,0 +1,97 @@
+package com.mobiquityinc.packer;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end benchmarks, reading, solving and formatting a whole generated file.
+ *
+ * @see Packer#pack(String)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackerBenchmark {
+    @Param({"1000"})
+    private int lineCount;
+    @Param({"5", "15"})
+    private int itemCount;
+    @Param({"100"})
+    private int capacity;
+    @Param({"2"})
+    private int precision;
+
+    private File file;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = File.createTempFile("packer-benchmark", ".txt");
+        String[] lines = new PackGenerator(42, itemCount, capacity, precision).nextLines(lineCount);
+        Files.write(file.toPath(), Arrays.asList(lines), StandardCharsets.UTF_8);
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.delete(file.toPath());
+    }
+
+    @Benchmark
+    public String pack() {
+        return Packer.pack(file.getPath());
+    }
+
+    @Benchmark
+    public void packStreaming(Blackhole blackhole) {
+        Packer.pack(file.getPath(), new BlackholeAppendable(blackhole));
+    }
+
+    /**
+     * An output that consumes everything written to it, without storing it.
+     */
+    private static final class BlackholeAppendable implements Appendable {
+        private final Blackhole blackhole;
+
+        private BlackholeAppendable(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq) {
+            blackhole.consume(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(CharSequence csq, int start, int end) {
+            blackhole.consume(csq);
+            return this;
+        }
+
+        @Override
+        public Appendable append(char c) {
+            blackhole.consume(c);
+            return this;
+        }
+    }
+}
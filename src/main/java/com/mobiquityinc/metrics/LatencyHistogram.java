@@ -0,0 +1,124 @@
+package com.mobiquityinc.metrics;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram, in the style of <a href='http://hdrhistogram.org'>HdrHistogram</a>: values are recorded into log-linear
+ * buckets, where each power of two is split into {@value #SUB_BUCKETS} linear sub-buckets. Recording a value is a couple of bit
+ * operations and an atomic increment, and any value of a {@code long} can be recorded.
+ * <p>
+ * Values below {@value #SUB_BUCKETS} are recorded exactly. Percentiles are reported as the upper bound of the bucket containing them:
+ * since the values of a power of two only have the {@value #HALF_SUB_BUCKETS} sub-buckets of its upper half, each bucket is narrower
+ * than 1/16 of its lowest value, so percentiles overestimate the recorded values by less than 6.25%.
+ */
+public class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 5;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int HALF_SUB_BUCKETS = SUB_BUCKETS / 2;
+    private static final int BUCKETS = SUB_BUCKETS + (Long.SIZE - SUB_BUCKET_BITS) * HALF_SUB_BUCKETS;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong total = new AtomicLong();
+    private final AtomicLong max = new AtomicLong();
+
+    /**
+     * Records a single value. Negative values are recorded as zero.
+     *
+     * @param value the value to be recorded
+     */
+    public void record(long value) {
+        long recorded = Math.max(value, 0);
+        counts.incrementAndGet(bucket(recorded));
+        count.incrementAndGet();
+        total.addAndGet(recorded);
+        max.accumulateAndGet(recorded, Math::max);
+    }
+
+    public long getCount() {
+        return count.get();
+    }
+
+    public long getTotal() {
+        return total.get();
+    }
+
+    public long getMax() {
+        return max.get();
+    }
+
+    /**
+     * The average of all the recorded values.
+     *
+     * @return the mean, or {@code 0} if no values were recorded
+     */
+    public double getMean() {
+        long recorded = count.get();
+        return recorded == 0 ? 0 : (double) total.get() / recorded;
+    }
+
+    /**
+     * The value below which the given percentage of the recorded values fall.
+     *
+     * @param percentile the percentage, from 0 to 100
+     * @return the value at the percentile, or {@code 0} if no values were recorded
+     */
+    public long getValueAtPercentile(double percentile) {
+        long recorded = count.get();
+        if (recorded == 0) {
+            return 0;
+        }
+        long target = Math.max(1, (long) Math.ceil(percentile / 100 * recorded));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= target) {
+                return Math.min(upperBound(i), max.get());
+            }
+        }
+        return max.get();
+    }
+
+    /**
+     * Discards all the recorded values. Values recorded concurrently with the reset may be partially discarded.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; i++) {
+            counts.set(i, 0);
+        }
+        count.set(0);
+        total.set(0);
+        max.set(0);
+    }
+
+    /**
+     * Determines the bucket of a value: values below {@link #SUB_BUCKETS} have their own bucket, and the others are split by the position
+     * of their highest bit and the following {@code SUB_BUCKET_BITS - 1} bits.
+     *
+     * @param value a non-negative value
+     * @return the bucket of the value
+     */
+    static int bucket(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = Long.SIZE - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+        return SUB_BUCKETS + (shift - 1) * HALF_SUB_BUCKETS + (int) (value >>> shift) - HALF_SUB_BUCKETS;
+    }
+
+    /**
+     * Determines the highest value recorded into a bucket.
+     *
+     * @param bucket the bucket
+     * @return the upper bound of the bucket
+     */
+    static long upperBound(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int shift = (bucket - SUB_BUCKETS) / HALF_SUB_BUCKETS + 1;
+        long mantissa = (bucket - SUB_BUCKETS) % HALF_SUB_BUCKETS + HALF_SUB_BUCKETS;
+        return ((mantissa + 1) << shift) - 1;
+    }
+}
@@ -0,0 +1,130 @@
+package com.mobiquityinc.metrics;
+
+import java.lang.management.ManagementFactory;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+/**
+ * Entry point of the per-stage metrics of the packing pipeline. Each instrumented stage is measured like this:
+ * <pre>
+ * long start = PackerMetrics.start();
+ * ... // the stage itself
+ * PackerMetrics.stop(Stage.PARSE, start);
+ * </pre>
+ * The metrics are disabled by default, and are enabled by the system property {@value #ENABLED_PROPERTY}{@code =true}. Since the flag
+ * is a constant, the JIT compiler removes the instrumentation entirely when it is disabled.
+ * <p>
+ * When enabled, the metrics of each stage are registered as JMX MBeans (see {@link StageMetricsMXBean}), and, if the system property
+ * {@value #LOG_INTERVAL_PROPERTY} is set to a positive amount of seconds, a summary of all the stages is logged at that interval.
+ */
+public final class PackerMetrics {
+    /**
+     * The system property enabling the metrics
+     */
+    public static final String ENABLED_PROPERTY = "packer.metrics";
+    /**
+     * The system property with the interval, in seconds, of the periodic summary
+     */
+    public static final String LOG_INTERVAL_PROPERTY = "packer.metrics.logInterval";
+
+    private static final Logger LOGGER = Logger.getLogger(PackerMetrics.class.getName());
+    private static final boolean ENABLED = Boolean.getBoolean(ENABLED_PROPERTY);
+    private static final Map<Stage, StageMetrics> METRICS = new EnumMap<>(Stage.class);
+
+    static {
+        for (Stage stage : Stage.values()) {
+            METRICS.put(stage, new StageMetrics(stage));
+        }
+        if (ENABLED) {
+            register();
+            long interval = Long.getLong(LOG_INTERVAL_PROPERTY, 0);
+            if (interval > 0) {
+                schedule(interval);
+            }
+        }
+    }
+
+    private PackerMetrics() {
+    }
+
+    /**
+     * Whether the metrics are being recorded.
+     *
+     * @return {@code true} if the metrics are enabled
+     */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    /**
+     * Marks the start of the execution of a stage.
+     *
+     * @return the current time in nanoseconds, or {@code 0} if the metrics are disabled
+     */
+    public static long start() {
+        return ENABLED ? System.nanoTime() : 0;
+    }
+
+    /**
+     * Marks the end of the execution of a stage, recording its latency.
+     *
+     * @param stage the stage executed
+     * @param start the value returned by {@link #start()} when the execution started
+     */
+    public static void stop(Stage stage, long start) {
+        if (ENABLED) {
+            METRICS.get(stage).record(System.nanoTime() - start);
+        }
+    }
+
+    /**
+     * The metrics of the given stage, which stay empty while the metrics are disabled.
+     *
+     * @param stage the stage
+     * @return the metrics of the stage
+     */
+    public static StageMetrics get(Stage stage) {
+        return METRICS.get(stage);
+    }
+
+    /**
+     * A summary of all the stages, one per line.
+     *
+     * @return the summary of the metrics
+     */
+    public static String summary() {
+        StringBuilder summary = new StringBuilder("Packer metrics:");
+        for (StageMetrics metrics : METRICS.values()) {
+            summary.append(System.lineSeparator()).append("  ").append(metrics);
+        }
+        return summary.toString();
+    }
+
+    private static void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        for (StageMetrics metrics : METRICS.values()) {
+            try {
+                server.registerMBean(metrics, new ObjectName("com.mobiquityinc:type=PackerMetrics,stage=" + metrics.getStage()));
+            } catch (JMException e) {
+                LOGGER.log(Level.WARNING, "Could not register the metrics of stage " + metrics.getStage(), e);
+            }
+        }
+    }
+
+    private static void schedule(long interval) {
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "packer-metrics");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleAtFixedRate(() -> LOGGER.info(summary()), interval, interval, TimeUnit.SECONDS);
+    }
+}
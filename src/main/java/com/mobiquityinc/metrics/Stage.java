@@ -0,0 +1,31 @@
+package com.mobiquityinc.metrics;
+
+/**
+ * The stages of the packing pipeline, each one with its own metrics.
+ */
+public enum Stage {
+    /**
+     * Reading the lines of an input file
+     */
+    READ,
+    /**
+     * Parsing a line into a pack
+     */
+    PARSE,
+    /**
+     * Checking a pack against the limits of weights, costs and amount of items
+     */
+    VALIDATE,
+    /**
+     * Eliminating the items whose presence in the solution of a pack can be decided before solving it, when enabled
+     */
+    REDUCE,
+    /**
+     * Choosing the items of a pack
+     */
+    SOLVE,
+    /**
+     * Writing the chosen items of a pack as text
+     */
+    FORMAT
+}
@@ -0,0 +1,97 @@
+package com.mobiquityinc.metrics;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The counters and latency histogram of a single {@link Stage}.
+ */
+public class StageMetrics implements StageMetricsMXBean {
+    private final Stage stage;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private volatile long since = System.nanoTime();
+
+    /**
+     * Instantiates new, empty metrics for the given stage.
+     *
+     * @param stage the stage being measured
+     */
+    public StageMetrics(Stage stage) {
+        this.stage = stage;
+    }
+
+    /**
+     * Records a single execution of the stage.
+     *
+     * @param nanos the time taken by the execution, in nanoseconds
+     */
+    public void record(long nanos) {
+        latencies.record(nanos);
+    }
+
+    public Stage getStage() {
+        return stage;
+    }
+
+    @Override
+    public long getCount() {
+        return latencies.getCount();
+    }
+
+    @Override
+    public long getTotalNanos() {
+        return latencies.getTotal();
+    }
+
+    @Override
+    public double getMeanNanos() {
+        return latencies.getMean();
+    }
+
+    @Override
+    public long getMaxNanos() {
+        return latencies.getMax();
+    }
+
+    @Override
+    public long getP50Nanos() {
+        return latencies.getValueAtPercentile(50);
+    }
+
+    @Override
+    public long getP99Nanos() {
+        return latencies.getValueAtPercentile(99);
+    }
+
+    @Override
+    public long getP999Nanos() {
+        return latencies.getValueAtPercentile(99.9);
+    }
+
+    @Override
+    public double getThroughput() {
+        long elapsed = System.nanoTime() - since;
+        return elapsed <= 0 ? 0 : (double) getCount() * TimeUnit.SECONDS.toNanos(1) / elapsed;
+    }
+
+    @Override
+    public void reset() {
+        latencies.reset();
+        since = System.nanoTime();
+    }
+
+    /**
+     * A single line summary of the metrics, with the latencies in microseconds.
+     *
+     * @return the summary of the metrics
+     */
+    @Override
+    public String toString() {
+        return String.format("%s: count=%d, throughput=%.1f/s, mean=%.1fus, p50=%.1fus, p99=%.1fus, p99.9=%.1fus, max=%.1fus",
+                stage, getCount(), getThroughput(), micros(getMeanNanos()), micros(getP50Nanos()), micros(getP99Nanos()),
+                micros(getP999Nanos()), micros(getMaxNanos()));
+    }
+
+    private static double micros(double nanos) {
+        return nanos / TimeUnit.MICROSECONDS.toNanos(1);
+    }
+}
@@ -0,0 +1,33 @@
+package com.mobiquityinc.metrics;
+
+/**
+ * Management interface of the metrics of a single {@link Stage}, registered under the name
+ * {@code com.mobiquityinc:type=PackerMetrics,stage=<STAGE>}. All the latencies are in nanoseconds.
+ */
+public interface StageMetricsMXBean {
+    long getCount();
+
+    long getTotalNanos();
+
+    double getMeanNanos();
+
+    long getMaxNanos();
+
+    long getP50Nanos();
+
+    long getP99Nanos();
+
+    long getP999Nanos();
+
+    /**
+     * The amount of executions per second, since the metrics were created or last reset.
+     *
+     * @return the throughput of the stage
+     */
+    double getThroughput();
+
+    /**
+     * Discards all the recorded executions.
+     */
+    void reset();
+}
@@ -0,0 +1,62 @@
+package com.mobiquityinc.model;
+
+import com.mobiquityinc.exception.APIException;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Conversions between decimal values and the fixed-point representation used by the solvers, where every weight and cost is stored as
+ * an integer amount of hundredths.
+ */
+public class FixedPoint {
+    /**
+     * The maximum amount of decimal places supported by the representation
+     */
+    public static final int SCALE = 2;
+    /**
+     * The fixed-point representation of the unit
+     */
+    public static final int ONE = 100;
+
+    /**
+     * Private empty constructor to avoid instantiations
+     */
+    private FixedPoint() {
+    }
+
+    /**
+     * Converts a decimal value into its fixed-point representation.
+     *
+     * @param value the value to be converted
+     * @return the value, in hundredths
+     * @throws APIException if the value has more than {@link #SCALE} decimal places or doesn't fit the representation
+     */
+    public static int toFixedPoint(BigDecimal value) {
+        try {
+            return value.setScale(SCALE, RoundingMode.UNNECESSARY).unscaledValue().intValueExact();
+        } catch (ArithmeticException e) {
+            throw new APIException(String.format("The value (%s) can't be represented with %s decimal places", value, SCALE));
+        }
+    }
+
+    /**
+     * Converts a fixed-point value back into a decimal value.
+     *
+     * @param value the value, in hundredths
+     * @return the decimal value
+     */
+    public static BigDecimal toDecimal(long value) {
+        return BigDecimal.valueOf(value, SCALE);
+    }
+
+    /**
+     * Formats a fixed-point value as a decimal number, without trailing zeros.
+     *
+     * @param value the value, in hundredths
+     * @return the String representation of the value
+     */
+    public static String toString(int value) {
+        return toDecimal(value).stripTrailingZeros().toPlainString();
+    }
+}
@@ -5,9 +5,13 @@ import java.util.Objects;
 
 /**
  * Object representation of each of the items that can be put in a {@link Pack}.
+ * <p>
+ * The items of the packs created by a {@link PackBuilder} are immutable snapshots, like the packs themselves, so their hash codes don't
+ * change.
  */
 public class Item extends Parameterized {
     private final int index;
+    private final boolean snapshot;
 
     /**
      * Instantiates a new Item, setting the {@code index}, {@code weight} and {@code cost}.
@@ -19,6 +23,22 @@ public class Item extends Parameterized {
     public Item(int index, BigDecimal weight, BigDecimal cost) {
         super(weight, cost);
         this.index = index;
+        this.snapshot = false;
+    }
+
+    /**
+     * Instantiates a new immutable Item.
+     *
+     * @param index        the index of the new instance
+     * @param weight       the weight of the new instance
+     * @param cost         the cost of the new instance
+     * @param extraWeights the extra weights of the new instance, which must not be modified afterwards
+     */
+    Item(int index, BigDecimal weight, BigDecimal cost, int[] extraWeights) {
+        super(weight, cost);
+        super.setExtraWeights(extraWeights);
+        this.index = index;
+        this.snapshot = true;
     }
 
     /**
@@ -30,6 +50,43 @@ public class Item extends Parameterized {
         return index;
     }
 
+    @Override
+    public void setWeight(BigDecimal weight) {
+        checkMutable();
+        super.setWeight(weight);
+    }
+
+    @Override
+    public void setCost(BigDecimal cost) {
+        checkMutable();
+        super.setCost(cost);
+    }
+
+    /**
+     * The amounts of the resources other than the weight, in hundredths, or an empty array if the weight is the only one.
+     *
+     * @return the extra weights, which must not be modified, or a copy of them if the item is an immutable snapshot
+     */
+    @Override
+    public int[] getExtraWeights() {
+        return snapshot ? super.getExtraWeights().clone() : super.getExtraWeights();
+    }
+
+    @Override
+    public void setExtraWeights(int[] extraWeights) {
+        checkMutable();
+        super.setExtraWeights(extraWeights);
+    }
+
+    /**
+     * Checks if the item is an immutable snapshot, belonging to a pack created by a {@link PackBuilder}.
+     *
+     * @return {@code true} if the item can't be changed
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
     @Override
     public boolean equals(Object o) {
         return super.equals(o) && index == ((Item) o).index;
@@ -39,4 +96,10 @@ public class Item extends Parameterized {
     public int hashCode() {
         return Objects.hash(super.hashCode(), index);
     }
+
+    private void checkMutable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("The item is an immutable snapshot");
+        }
+    }
 }
@@ -1,33 +1,71 @@
 package com.mobiquityinc.model;
 
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
+
 import java.math.BigDecimal;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
-import java.util.stream.Collectors;
 
 /**
  * Object representation of each of the packs that can be read from the input file or created to contain the items picked.
+ * <p>
+ * The packs created by a {@link PackBuilder} are immutable snapshots: their items (which are snapshots too) and totals can't be changed,
+ * and their hash code is calculated only once.
  */
 public class Pack extends Parameterized {
-    private final List<Item> items = new ArrayList<>();
+    private final List<Item> items;
+    private final List<BigDecimal> capacities;
+    private final boolean snapshot;
+    private int hash;
 
     /**
      * The default constructor of the class. Sets the {@code weight} and {@code cost} of the Pack to zero.
      */
     public Pack() {
         super(BigDecimal.ZERO, BigDecimal.ZERO);
+        this.items = new ArrayList<>();
+        this.capacities = new ArrayList<>();
+        this.snapshot = false;
     }
 
     /**
-     * Adds an item to the package, updating it's total cost and total weight
+     * Instantiates a new immutable Pack, with the totals already calculated.
+     *
+     * @param items        the items of the pack, which must not be modified afterwards
+     * @param weight       the total weight of the items
+     * @param cost         the total cost of the items
+     * @param extraWeights the total extra weights of the items
+     */
+    Pack(List<Item> items, BigDecimal weight, BigDecimal cost, int[] extraWeights) {
+        super(weight, cost);
+        super.setExtraWeights(extraWeights);
+        this.items = Collections.unmodifiableList(items);
+        this.capacities = Collections.emptyList();
+        this.snapshot = true;
+    }
+
+    /**
+     * Adds an item to the package, updating it's total cost, total weight and total extra weights
      *
      * @param item the item to be added to the package
+     * @throws UnsupportedOperationException if the pack is an immutable snapshot
      */
     public void addItem(Item item) {
+        checkMutable();
         items.add(item);
         setCost(getCost().add(item.getCost()));
         setWeight(getWeight().add(item.getWeight()));
+        if (item.getExtraWeights().length > 0) {
+            int[] totals = Arrays.copyOf(getExtraWeights(), item.getExtraWeights().length);
+            for (int k = 0; k < totals.length; k++) {
+                totals[k] += item.getExtraWeights()[k];
+            }
+            setExtraWeights(totals);
+        }
     }
 
     /**
@@ -40,22 +78,102 @@ public class Pack extends Parameterized {
         return items;
     }
 
+    @Override
+    public void setWeight(BigDecimal weight) {
+        checkMutable();
+        super.setWeight(weight);
+    }
+
+    @Override
+    public void setCost(BigDecimal cost) {
+        checkMutable();
+        super.setCost(cost);
+    }
 
+    /**
+     * The total amounts of the resources other than the weight, in hundredths, or an empty array if the weight is the only one.
+     *
+     * @return the extra weights, which must not be modified, or a copy of them if the pack is an immutable snapshot
+     */
+    @Override
+    public int[] getExtraWeights() {
+        return snapshot ? super.getExtraWeights().clone() : super.getExtraWeights();
+    }
+
+    @Override
+    public void setExtraWeights(int[] extraWeights) {
+        checkMutable();
+        super.setExtraWeights(extraWeights);
+    }
+
+    /**
+     * Checks if the pack is an immutable snapshot, created by a {@link PackBuilder}.
+     *
+     * @return {@code true} if the pack can't be changed
+     */
+    public boolean isSnapshot() {
+        return snapshot;
+    }
+
+    /**
+     * The capacities of each of the packs the items should be distributed across, when the parsed line declares more than one. It is
+     * empty for a single pack, whose capacity is its weight.
+     *
+     * @return the list of capacities for this pack
+     */
+    public List<BigDecimal> getCapacities() {
+        return capacities;
+    }
+
+    /**
+     * Compares the totals, items and capacities of the packs. Snapshots with different hash codes are told apart without walking their
+     * items.
+     *
+     * @param o the object to be compared with the instance
+     * @return {@code true} if both packs are equal
+     */
     @Override
     public boolean equals(Object o) {
-        return super.equals(o) && Objects.equals(items, ((Pack) o).items);
+        if (snapshot && o instanceof Pack && ((Pack) o).snapshot && hashCode() != o.hashCode()) {
+            return false;
+        }
+        return super.equals(o) && Objects.equals(items, ((Pack) o).items) && Objects.equals(capacities, ((Pack) o).capacities);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), items);
+        if (!snapshot) {
+            return Objects.hash(super.hashCode(), items, capacities);
+        }
+        if (hash == 0) {
+            hash = Objects.hash(super.hashCode(), items, capacities);
+        }
+        return hash;
     }
 
     @Override
     public String toString() {
-        return items.isEmpty() ? "-" : String.join(",",
-                items.stream()
-                        .map(i -> String.valueOf(i.getIndex()))
-                        .collect(Collectors.toList()));
+        long start = PackerMetrics.start();
+        String result;
+        if (items.isEmpty()) {
+            result = "-";
+        } else {
+            StringBuilder indexes = new StringBuilder(items.size() * 3);
+            for (Item item : items) {
+                if (indexes.length() > 0) {
+                    indexes.append(',');
+                }
+                indexes.append(item.getIndex());
+            }
+            result = indexes.toString();
+        }
+        PackerMetrics.stop(Stage.FORMAT, start);
+        return result;
+    }
+
+    private void checkMutable() {
+        if (snapshot) {
+            throw new UnsupportedOperationException("The pack is an immutable snapshot");
+        }
     }
 }
@@ -0,0 +1,193 @@
+package com.mobiquityinc.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Mutable, allocation-free accumulator of the items chosen from a {@link PackProblem}, to be used while a solution is being assembled.
+ * Membership is tracked as a bit set of positions, and the totals of weight (in every dimension) and cost are kept as primitive
+ * hundredths, so adding or removing an item doesn't create any object. The {@link Pack} and its {@link Item}s are only created by
+ * {@link #build()}, as an immutable snapshot.
+ * <p>
+ * This class is not safe for concurrent use.
+ */
+public final class PackBuilder {
+    private final PackProblem problem;
+    private final BitSet chosen;
+    private final long[] weights;
+    private long cost;
+
+    /**
+     * Instantiates a new PackBuilder, initially without any of the items of the given problem.
+     *
+     * @param problem the problem containing the items that can be chosen
+     */
+    public PackBuilder(PackProblem problem) {
+        this.problem = problem;
+        this.chosen = new BitSet(problem.size());
+        this.weights = new long[problem.dimensions()];
+    }
+
+    /**
+     * Adds an item, unless it was already added.
+     *
+     * @param position the position of the item, in the problem
+     * @return this builder
+     */
+    public PackBuilder add(int position) {
+        if (!chosen.get(position)) {
+            chosen.set(position);
+            update(position, 1);
+        }
+        return this;
+    }
+
+    /**
+     * Adds all the given items, skipping the ones already added.
+     *
+     * @param positions the positions of the items, in the problem
+     * @return this builder
+     */
+    public PackBuilder addAll(BitSet positions) {
+        for (int i = positions.nextSetBit(0); i >= 0; i = positions.nextSetBit(i + 1)) {
+            add(i);
+        }
+        return this;
+    }
+
+    /**
+     * Removes an item, if it was added.
+     *
+     * @param position the position of the item, in the problem
+     * @return this builder
+     */
+    public PackBuilder remove(int position) {
+        if (chosen.get(position)) {
+            chosen.clear(position);
+            update(position, -1);
+        }
+        return this;
+    }
+
+    /**
+     * Removes all the items.
+     *
+     * @return this builder
+     */
+    public PackBuilder clear() {
+        chosen.clear();
+        Arrays.fill(weights, 0);
+        cost = 0;
+        return this;
+    }
+
+    /**
+     * Checks if an item was added.
+     *
+     * @param position the position of the item, in the problem
+     * @return {@code true} if the item was added
+     */
+    public boolean contains(int position) {
+        return chosen.get(position);
+    }
+
+    /**
+     * The amount of items added.
+     *
+     * @return the item count
+     */
+    public int size() {
+        return chosen.cardinality();
+    }
+
+    /**
+     * The total weight of the items added, in hundredths.
+     *
+     * @return the total weight
+     */
+    public long getWeight() {
+        return weights[0];
+    }
+
+    /**
+     * The total amount of a resource used by the items added, in hundredths.
+     *
+     * @param dimension the resource, the weight being {@code 0}
+     * @return the total amount of the resource
+     */
+    public long getWeight(int dimension) {
+        return weights[dimension];
+    }
+
+    /**
+     * The total cost of the items added, in hundredths.
+     *
+     * @return the total cost
+     */
+    public long getCost() {
+        return cost;
+    }
+
+    /**
+     * Checks if the items added fit the pack in every dimension. For problems with more than one pack, the first one is considered.
+     *
+     * @return {@code true} if no capacity is exceeded
+     */
+    public boolean fits() {
+        for (int k = 0; k < weights.length; k++) {
+            if (weights[k] > problem.getCapacities()[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The positions of the items added.
+     *
+     * @return a copy of the positions
+     */
+    public BitSet getChosen() {
+        return (BitSet) chosen.clone();
+    }
+
+    /**
+     * Creates an immutable {@link Pack} containing the items added, ordered by index, having their totals as its weight, cost and extra
+     * weights. The builder can still be changed afterwards, without affecting the created pack.
+     *
+     * @return a new Pack, which is a {@link Pack#isSnapshot() snapshot}
+     */
+    public Pack build() {
+        int[] indices = problem.getIndices();
+        int[] positions = chosen.stream().toArray();
+        for (int i = 1; i < positions.length; i++) {
+            int position = positions[i];
+            int j = i - 1;
+            while (j >= 0 && indices[positions[j]] > indices[position]) {
+                positions[j + 1] = positions[j];
+                j--;
+            }
+            positions[j + 1] = position;
+        }
+
+        List<Item> items = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            items.add(problem.item(position));
+        }
+        int[] extraWeights = new int[positions.length == 0 ? 0 : weights.length - 1];
+        for (int k = 0; k < extraWeights.length; k++) {
+            extraWeights[k] = (int) weights[k + 1];
+        }
+        return new Pack(items, FixedPoint.toDecimal(weights[0]), FixedPoint.toDecimal(cost), extraWeights);
+    }
+
+    private void update(int position, int sign) {
+        int dimensions = weights.length;
+        for (int k = 0; k < dimensions; k++) {
+            weights[k] += (long) sign * problem.getWeights()[position * dimensions + k];
+        }
+        cost += (long) sign * problem.getCosts()[position];
+    }
+}
@@ -0,0 +1,246 @@
+package com.mobiquityinc.model;
+
+import com.mobiquityinc.exception.APIException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Compact representation of a {@link Pack} to be solved, where the items are stored as parallel primitive arrays of index, weight and
+ * cost, with weights and costs in the {@link FixedPoint} representation. It allows the solvers to run their inner loops without any
+ * allocation, converting back to {@link Pack} and {@link Item} only for the chosen solution.
+ * <p>
+ * A problem can have more than one capacity, in which case the items are distributed across several packs, each item going into at
+ * most one of them.
+ * <p>
+ * A problem can also limit more than one resource (such as weight and volume), called its dimensions. The weights of the items and the
+ * capacities of the packs are then packed into their arrays by item (or pack) and then by dimension, so the weight of the item at
+ * {@code position} in the {@code k}th dimension is {@code weights[position * dimensions() + k]}. With a single dimension, the arrays have
+ * one value for each item (or pack).
+ * <p>
+ * For performance reasons, the arrays returned by this class are not copied, and must not be modified.
+ */
+public final class PackProblem {
+    private final int[] capacities;
+    private final int dimensions;
+    private final int[] indices;
+    private final int[] weights;
+    private final int[] costs;
+
+    /**
+     * Instantiates a new PackProblem, setting the {@code capacity} and the items' {@code indices}, {@code weights} and {@code costs}.
+     *
+     * @param capacity the maximum weight of the pack, in hundredths
+     * @param indices  the indexes of the items
+     * @param weights  the weights of the items, in hundredths
+     * @param costs    the costs of the items, in hundredths
+     */
+    public PackProblem(int capacity, int[] indices, int[] weights, int[] costs) {
+        this(new int[]{capacity}, indices, weights, costs);
+    }
+
+    /**
+     * Instantiates a new PackProblem with several packs, setting their {@code capacities} and the items' {@code indices}, {@code weights}
+     * and {@code costs}.
+     *
+     * @param capacities the maximum weight of each of the packs, in hundredths
+     * @param indices    the indexes of the items
+     * @param weights    the weights of the items, in hundredths
+     * @param costs      the costs of the items, in hundredths
+     */
+    public PackProblem(int[] capacities, int[] indices, int[] weights, int[] costs) {
+        this(capacities, 1, indices, weights, costs);
+    }
+
+    /**
+     * Instantiates a new PackProblem limiting several resources, setting the packed {@code capacities} and {@code weights}, as well as the
+     * items' {@code indices} and {@code costs}.
+     *
+     * @param capacities the maximum amount of each of the resources of each of the packs, in hundredths
+     * @param dimensions the amount of resources limited by the packs
+     * @param indices    the indexes of the items
+     * @param weights    the amount of each of the resources used by each of the items, in hundredths
+     * @param costs      the costs of the items, in hundredths
+     */
+    public PackProblem(int[] capacities, int dimensions, int[] indices, int[] weights, int[] costs) {
+        this.capacities = capacities;
+        this.dimensions = dimensions;
+        this.indices = indices;
+        this.weights = weights;
+        this.costs = costs;
+    }
+
+    /**
+     * Converts a pack into its compact representation. The weight of the pack is used as its capacity, unless it has
+     * {@link Pack#getCapacities() several capacities}, and its {@link Pack#getExtraWeights() extra weights} are used as the capacities of
+     * the other dimensions.
+     *
+     * @param pack the pack containing all items that can be chosen
+     * @return the compact representation of the pack
+     * @throws com.mobiquityinc.exception.APIException if any of the values can't be represented in fixed-point, or the dimensions of the
+     *                                                 items don't match the ones of the pack
+     */
+    public static PackProblem of(Pack pack) {
+        int dimensions = pack.getExtraWeights().length + 1;
+        if (dimensions > 1 && !pack.getCapacities().isEmpty()) {
+            throw new APIException(String.format("Several packs (%s) can't have more than one dimension (%s)",
+                    pack.getCapacities().size(), dimensions));
+        }
+        List<Item> items = pack.getItems();
+        int size = items.size();
+        int[] indices = new int[size];
+        int[] weights = new int[size * dimensions];
+        int[] costs = new int[size];
+        for (int i = 0; i < size; i++) {
+            Item item = items.get(i);
+            if (item.getExtraWeights().length != dimensions - 1) {
+                throw new APIException(String.format("The item %s has %s dimensions, instead of %s",
+                        item.getIndex(), item.getExtraWeights().length + 1, dimensions));
+            }
+            indices[i] = item.getIndex();
+            weights[i * dimensions] = FixedPoint.toFixedPoint(item.getWeight());
+            System.arraycopy(item.getExtraWeights(), 0, weights, i * dimensions + 1, dimensions - 1);
+            costs[i] = FixedPoint.toFixedPoint(item.getCost());
+        }
+        if (!pack.getCapacities().isEmpty()) {
+            return new PackProblem(pack.getCapacities().stream().mapToInt(FixedPoint::toFixedPoint).toArray(), indices, weights, costs);
+        }
+        int[] capacities = new int[dimensions];
+        capacities[0] = FixedPoint.toFixedPoint(pack.getWeight());
+        System.arraycopy(pack.getExtraWeights(), 0, capacities, 1, dimensions - 1);
+        return new PackProblem(capacities, dimensions, indices, weights, costs);
+    }
+
+    /**
+     * Converts this problem back into a pack, having the capacity as its weight and containing all the items that can be chosen. Problems
+     * with more than one pack also have all their capacities kept, and problems with more than one dimension have the capacities of the
+     * other dimensions as extra weights.
+     *
+     * @return a new Pack containing all the items, in their original order
+     */
+    public Pack toPack() {
+        Pack pack = new Pack();
+        pack.setWeight(FixedPoint.toDecimal(capacities[0]));
+        if (packCount() > 1) {
+            for (int capacity : capacities) {
+                pack.getCapacities().add(FixedPoint.toDecimal(capacity));
+            }
+        }
+        if (dimensions > 1) {
+            pack.setExtraWeights(Arrays.copyOfRange(capacities, 1, dimensions));
+        }
+        for (int i = 0; i < indices.length; i++) {
+            pack.getItems().add(item(i));
+        }
+        return pack;
+    }
+
+    /**
+     * Creates the pack representing a solution for this problem, containing the chosen items ordered by index. The totals are summed as
+     * primitives by a {@link PackBuilder}, so the pack is an immutable {@link Pack#isSnapshot() snapshot}.
+     *
+     * @param chosen the positions of the chosen items
+     * @return a new Pack containing the chosen items
+     */
+    public Pack toPack(BitSet chosen) {
+        return new PackBuilder(this).addAll(chosen).build();
+    }
+
+    /**
+     * Creates the packs representing a solution for a problem with several packs, each one containing its chosen items ordered by index.
+     *
+     * @param assignment the pack of each item, by position, or {@code -1} for the items left out
+     * @return a new Pack for each capacity, in the same order
+     */
+    public List<Pack> toPacks(int[] assignment) {
+        List<Pack> packs = new ArrayList<>(packCount());
+        for (int pack = 0; pack < packCount(); pack++) {
+            BitSet chosen = new BitSet(assignment.length);
+            for (int i = 0; i < assignment.length; i++) {
+                if (assignment[i] == pack) {
+                    chosen.set(i);
+                }
+            }
+            packs.add(toPack(chosen));
+        }
+        return packs;
+    }
+
+    /**
+     * Converts an item back into its object representation, as an immutable snapshot.
+     *
+     * @param position the position of the item
+     * @return a new Item, having the weights of the other dimensions as extra weights
+     */
+    Item item(int position) {
+        int[] extraWeights = Arrays.copyOfRange(weights, position * dimensions + 1, (position + 1) * dimensions);
+        return new Item(indices[position], FixedPoint.toDecimal(weights[position * dimensions]), FixedPoint.toDecimal(costs[position]),
+                extraWeights);
+    }
+
+    /**
+     * The maximum weight allowed for the pack, in hundredths. For problems with more than one pack, it is the capacity of the first one.
+     *
+     * @return the pack's capacity
+     */
+    public int getCapacity() {
+        return capacities[0];
+    }
+
+    /**
+     * The amount of packs the items can be distributed across.
+     *
+     * @return the pack count
+     */
+    public int packCount() {
+        return capacities.length / dimensions;
+    }
+
+    /**
+     * The amount of resources limited by the packs, the weight being the first one.
+     *
+     * @return the dimension count
+     */
+    public int dimensions() {
+        return dimensions;
+    }
+
+    /**
+     * The capacities of the packs, in hundredths, packed by pack and then by dimension: the capacity of the {@code p}th pack in the
+     * {@code k}th dimension is {@code getCapacities()[p * dimensions() + k]}.
+     *
+     * @return the packed capacities, which must not be modified
+     */
+    public int[] getCapacities() {
+        return capacities;
+    }
+
+    /**
+     * The amount of items that can be chosen.
+     *
+     * @return the item count
+     */
+    public int size() {
+        return indices.length;
+    }
+
+    public int[] getIndices() {
+        return indices;
+    }
+
+    /**
+     * The weights of the items, in hundredths, packed by item and then by dimension: the weight of the item at {@code position} in the
+     * {@code k}th dimension is {@code getWeights()[position * dimensions() + k]}.
+     *
+     * @return the packed weights, which must not be modified
+     */
+    public int[] getWeights() {
+        return weights;
+    }
+
+    public int[] getCosts() {
+        return costs;
+    }
+}
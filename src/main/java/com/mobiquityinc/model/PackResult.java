@@ -0,0 +1,75 @@
+package com.mobiquityinc.model;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Structured result of solving a single {@link Pack}, for callers using the library in-process instead of reading the String output.
+ * This class is immutable.
+ */
+public class PackResult {
+    private final List<Item> items;
+    private final BigDecimal totalCost;
+    private final BigDecimal totalWeight;
+    private final BigDecimal upperBound;
+    private final Duration solveTime;
+
+    /**
+     * Instantiates a new PackResult from the pack containing the chosen items.
+     *
+     * @param solution  the pack containing the chosen items, having their total cost and weight as its cost and weight
+     * @param solveTime the time spent validating and solving the pack
+     */
+    public PackResult(Pack solution, Duration solveTime) {
+        this(solution, solution.getCost(), solveTime);
+    }
+
+    /**
+     * Instantiates a new PackResult from the pack containing the items chosen by an approximate solver.
+     *
+     * @param solution   the pack containing the chosen items, having their total cost and weight as its cost and weight
+     * @param upperBound the highest cost the optimal solution can have
+     * @param solveTime  the time spent validating and solving the pack
+     */
+    public PackResult(Pack solution, BigDecimal upperBound, Duration solveTime) {
+        this.items = Collections.unmodifiableList(solution.getItems());
+        this.totalCost = solution.getCost();
+        this.totalWeight = solution.getWeight();
+        this.upperBound = upperBound;
+        this.solveTime = solveTime;
+    }
+
+    /**
+     * The chosen items, ordered by index.
+     *
+     * @return the list of chosen items
+     */
+    public List<Item> getItems() {
+        return items;
+    }
+
+    public BigDecimal getTotalCost() {
+        return totalCost;
+    }
+
+    public BigDecimal getTotalWeight() {
+        return totalWeight;
+    }
+
+    /**
+     * The highest total cost the optimal solution can have, which is the total cost itself for exact solvers. The ratio between both is
+     * the accuracy achieved by approximate ones.
+     *
+     * @return the upper bound of the optimal total cost
+     */
+    public BigDecimal getUpperBound() {
+        return upperBound;
+    }
+
+    public Duration getSolveTime() {
+        return solveTime;
+    }
+
+}
@@ -1,12 +1,16 @@
 package com.mobiquityinc.model;
 
 import java.math.BigDecimal;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Objects;
 
 /**
  * Abstract superclass for types containing weight and cost parameters.
  * <p>
+ * Besides the weight, other resources limited by the pack (such as volume) can be given as extra weights, packed into a single array in
+ * the {@link FixedPoint} representation. The weight is always the first dimension, and the one considered when comparing instances.
+ * <p>
  * It also provides an implementation of {@link Comparable}, taking into account the highest cost, then the lowest weight.
  */
 public abstract class Parameterized implements Comparable<Parameterized> {
@@ -18,6 +22,7 @@ public abstract class Parameterized implements Comparable<Parameterized> {
 
     private BigDecimal weight;
     private BigDecimal cost;
+    private int[] extraWeights = new int[0];
 
     /**
      * Instantiates a new Parameterized by providing the {@code weight} and {@code cost} fields.
@@ -38,6 +43,19 @@ public abstract class Parameterized implements Comparable<Parameterized> {
         this.weight = weight;
     }
 
+    /**
+     * The amounts of the resources other than the weight, in hundredths, or an empty array if the weight is the only one.
+     *
+     * @return the extra weights, which must not be modified
+     */
+    public int[] getExtraWeights() {
+        return extraWeights;
+    }
+
+    public void setExtraWeights(int[] extraWeights) {
+        this.extraWeights = extraWeights;
+    }
+
     public BigDecimal getCost() {
         return cost;
     }
@@ -63,11 +81,17 @@ public abstract class Parameterized implements Comparable<Parameterized> {
         if (o == null || getClass() != o.getClass()) return false;
         Parameterized that = (Parameterized) o;
         return BIG_DECIMAL_COMPARATOR.compare(weight, that.weight) == 0 &&
-                BIG_DECIMAL_COMPARATOR.compare(cost, that.cost) == 0;
+                BIG_DECIMAL_COMPARATOR.compare(cost, that.cost) == 0 &&
+                Arrays.equals(extraWeights, that.extraWeights);
     }
 
+    /**
+     * Hashes the weight and cost without their trailing zeros, consistently with {@link #equals(Object)}, which ignores their scale.
+     *
+     * @return the hash code of the instance
+     */
     @Override
     public int hashCode() {
-        return Objects.hash(weight, cost);
+        return Objects.hash(weight.stripTrailingZeros(), cost.stripTrailingZeros(), Arrays.hashCode(extraWeights));
     }
 }
@@ -0,0 +1,81 @@
+package com.mobiquityinc.packer;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * A reusable {@link CharSequence} view over a range of bytes of a {@link ByteBuffer}, mapping each byte to a char. It allows the
+ * {@link PackLineScanner} to parse lines straight from a memory-mapped file, since the whole pack grammar is made of ASCII characters:
+ * multi-byte UTF-8 characters, such as currency symbols, are seen as a sequence of non-ASCII chars. The bytes are only decoded as UTF-8
+ * by {@link #toString()}.
+ */
+final class ByteBufferSequence implements CharSequence {
+    private final ByteBuffer buffer;
+    private int start;
+    private int end;
+
+    /**
+     * Instantiates a new ByteBufferSequence over the given buffer, initially empty.
+     *
+     * @param buffer the buffer containing the bytes
+     */
+    ByteBufferSequence(ByteBuffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * Moves the view to another range of the buffer.
+     *
+     * @param start the position of the first byte, inclusive
+     * @param end   the position of the last byte, exclusive
+     * @return this sequence
+     */
+    ByteBufferSequence reset(int start, int end) {
+        this.start = start;
+        this.end = end;
+        return this;
+    }
+
+    /**
+     * Converts a position of this sequence, counted in bytes, into the position of the same character in the decoded String, so the
+     * columns reported by the {@link PackLineScanner} are the same for both. UTF-8 continuation bytes are not counted, and the leading
+     * bytes of supplementary characters count as two chars, since they are decoded into surrogate pairs.
+     *
+     * @param index the position, in bytes
+     * @return the position, in chars
+     */
+    int charIndex(int index) {
+        int chars = 0;
+        for (int i = 0; i < index; i++) {
+            int b = buffer.get(start + i) & 0xFF;
+            if ((b & 0xC0) != 0x80) {
+                chars += b >= 0xF0 ? 2 : 1;
+            }
+        }
+        return chars;
+    }
+
+    @Override
+    public int length() {
+        return end - start;
+    }
+
+    @Override
+    public char charAt(int index) {
+        return (char) (buffer.get(start + index) & 0xFF);
+    }
+
+    @Override
+    public CharSequence subSequence(int from, int to) {
+        return new ByteBufferSequence(buffer).reset(start + from, start + to);
+    }
+
+    @Override
+    public String toString() {
+        byte[] bytes = new byte[length()];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = buffer.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,165 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.FixedPoint;
+import com.mobiquityinc.model.PackProblem;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Versioned binary representation of packs and their solutions, meant for machine-to-machine pipelines where formatting and parsing the
+ * text representation is wasteful. Every file starts with a header:
+ * <ul>
+ * <li>the {@link #MAGIC} number, as 4 bytes;</li>
+ * <li>the {@link #VERSION} of the format, as 1 byte;</li>
+ * <li>the flags, as 1 byte: {@link #FLAG_VARINT} if the integers are encoded as varints, and {@link #FLAG_SOLUTIONS} if the records are
+ * solutions instead of packs.</li>
+ * </ul>
+ * The header is followed by any amount of records, each one prefixed by its length in bytes. Integers are non-negative, encoded either as
+ * 4 big-endian bytes or, with {@link #FLAG_VARINT}, as unsigned LEB128 varints, the length prefixes included. Weights and costs are kept
+ * in the {@link FixedPoint} representation. A pack record contains:
+ * <p>
+ * {@code [capacityCount] [dimensions] [itemCount] [capacity]... ([itemIndex] [itemWeight]... [itemCost])...}
+ * <p>
+ * having the capacities and weights packed by pack (or item) and then by dimension, in the same way as {@link PackProblem}. A solution
+ * record contains, for each of the packs of a line, the amount of chosen items followed by their indexes:
+ * <p>
+ * {@code [packCount] ([itemCount] [itemIndex]...)...}
+ */
+public final class PackBinaryFormat {
+    /**
+     * The first bytes of every file, reading {@code PACK} in ASCII
+     */
+    public static final int MAGIC = 0x5041434B;
+    /**
+     * The version of the format written by this class, the only one it can read
+     */
+    public static final int VERSION = 1;
+    /**
+     * Flag set when the integers are encoded as varints
+     */
+    public static final int FLAG_VARINT = 1;
+    /**
+     * Flag set when the records are solutions, instead of packs
+     */
+    public static final int FLAG_SOLUTIONS = 1 << 1;
+
+    static final int HEADER_SIZE = Integer.BYTES + 2;
+    private static final String ITEM_SEPARATOR = " ";
+
+    /**
+     * Private empty constructor to avoid instantiations
+     */
+    private PackBinaryFormat() {
+    }
+
+    /**
+     * Lazily reads the packs contained in a buffer, decoding each record straight into the compact {@link PackProblem} representation
+     * only when it is consumed from the resulting stream. No bytes are copied, and the position of the given buffer is not changed.
+     *
+     * @param buffer the buffer containing the header and the records
+     * @return a stream of PackProblem, one for each record
+     * @throws APIException if the header is not valid, or (during the consumption) any of the records is not valid
+     */
+    public static Stream<PackProblem> read(ByteBuffer buffer) {
+        return PackBinaryReader.problems(buffer);
+    }
+
+    /**
+     * Converts lines in the text representation into the binary one, for compatibility with the existing files.
+     *
+     * @param lines  the lines representing the packs
+     * @param output where the header and the records will be written to
+     * @param varint if the integers should be encoded as varints
+     * @throws APIException if any of the lines is not valid or the output can't be written
+     */
+    public static void toBinary(Stream<String> lines, OutputStream output, boolean varint) {
+        PackBinaryWriter writer = PackBinaryWriter.forProblems(output, varint);
+        Iterator<String> iterator = lines.iterator();
+        while (iterator.hasNext()) {
+            writer.write(PackLineScanner.scan(iterator.next()));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Converts a buffer in the binary representation back into the text one, writing one line for each record. Packs are written in the
+     * same format of the input files, and solutions in the same format of the results of {@link PackProcessor}.
+     *
+     * @param buffer the buffer containing the header and the records
+     * @param output where the lines will be written to
+     * @throws APIException if any of the records is not valid or the output can't be written
+     */
+    public static void toText(ByteBuffer buffer, Appendable output) {
+        try {
+            if (PackBinaryReader.isSolutions(buffer)) {
+                Iterator<int[][]> solutions = PackBinaryReader.solutions(buffer).iterator();
+                for (boolean first = true; solutions.hasNext(); first = false) {
+                    appendLine(output, first).append(format(solutions.next()));
+                }
+            } else {
+                Iterator<PackProblem> problems = PackBinaryReader.problems(buffer).iterator();
+                for (boolean first = true; problems.hasNext(); first = false) {
+                    appendLine(output, first).append(format(problems.next()));
+                }
+            }
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Formats a problem in the text representation, parseable by {@link PackLineScanner}.
+     *
+     * @param problem the problem to be formatted
+     * @return the line representing the problem
+     */
+    static String format(PackProblem problem) {
+        int dimensions = problem.dimensions();
+        StringBuilder line = new StringBuilder();
+        int[] capacities = problem.getCapacities();
+        for (int i = 0; i < capacities.length; i++) {
+            line.append(i == 0 ? "" : i % dimensions == 0 ? "," : "/").append(FixedPoint.toString(capacities[i]));
+        }
+        line.append(" :");
+        for (int i = 0; i < problem.size(); i++) {
+            line.append(ITEM_SEPARATOR).append('(').append(problem.getIndices()[i]).append(',');
+            for (int k = 0; k < dimensions; k++) {
+                line.append(k == 0 ? "" : "/").append(FixedPoint.toString(problem.getWeights()[i * dimensions + k]));
+            }
+            line.append(",\u20AC").append(FixedPoint.toString(problem.getCosts()[i])).append(')');
+        }
+        return line.toString();
+    }
+
+    /**
+     * Formats a solution in the same way as the results of {@link PackProcessor}: the indexes of the chosen items separated by commas (or
+     * {@code -} if none was chosen), each pack separated by semicolons.
+     *
+     * @param solution the indexes of the chosen items of each of the packs
+     * @return the line representing the solution
+     */
+    static String format(int[][] solution) {
+        StringBuilder line = new StringBuilder();
+        for (int pack = 0; pack < solution.length; pack++) {
+            if (pack > 0) {
+                line.append(';');
+            }
+            if (solution[pack].length == 0) {
+                line.append('-');
+            }
+            for (int i = 0; i < solution[pack].length; i++) {
+                line.append(i == 0 ? "" : ",").append(solution[pack][i]);
+            }
+        }
+        return line.toString();
+    }
+
+    private static Appendable appendLine(Appendable output, boolean first) throws IOException {
+        return first ? output : output.append('\n');
+    }
+}
@@ -0,0 +1,207 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
+import com.mobiquityinc.model.PackProblem;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Streaming decoder of the {@link PackBinaryFormat}, reading the records straight from a {@link ByteBuffer} (possibly memory-mapped) with
+ * absolute reads, so no bytes are copied and the position of the buffer is never changed. In case of errors, the record (starting at 1)
+ * and the offset of the byte where the decoding failed are added to the message.
+ */
+final class PackBinaryReader {
+    private final ByteBuffer buffer;
+    private final boolean varint;
+    private int position;
+    private int record;
+    private int end;
+
+    private PackBinaryReader(ByteBuffer source, int expectedKind) {
+        this.buffer = source.duplicate().order(ByteOrder.BIG_ENDIAN); // shares the bytes, not the position nor the order
+        this.position = buffer.position();
+        if (buffer.limit() - position < PackBinaryFormat.HEADER_SIZE || buffer.getInt(position) != PackBinaryFormat.MAGIC) {
+            throw error("Not a binary pack file (byte %s)");
+        }
+        int version = buffer.get(position + Integer.BYTES) & 0xFF;
+        if (version != PackBinaryFormat.VERSION) {
+            throw new APIException(String.format("Unsupported binary pack file version (%s), expected %s", version,
+                    PackBinaryFormat.VERSION));
+        }
+        int flags = buffer.get(position + Integer.BYTES + 1) & 0xFF;
+        if ((flags & PackBinaryFormat.FLAG_SOLUTIONS) != expectedKind) {
+            throw error("Unexpected kind of records in the binary pack file (byte %s)");
+        }
+        this.varint = (flags & PackBinaryFormat.FLAG_VARINT) != 0;
+        this.position += PackBinaryFormat.HEADER_SIZE;
+    }
+
+    /**
+     * Checks if the header of a buffer declares solution records.
+     *
+     * @param source the buffer containing the header, in any byte order
+     * @return {@code true} if the records are solutions, {@code false} if they are packs
+     */
+    static boolean isSolutions(ByteBuffer source) {
+        ByteBuffer buffer = source.duplicate().order(ByteOrder.BIG_ENDIAN);
+        int flags = buffer.position() + Integer.BYTES + 1;
+        return flags < buffer.limit() && (buffer.get(flags) & PackBinaryFormat.FLAG_SOLUTIONS) != 0;
+    }
+
+    /**
+     * Lazily decodes the pack records of a buffer.
+     *
+     * @param buffer the buffer containing the header and the records
+     * @return a stream of PackProblem, one for each record
+     * @throws APIException if the header is not valid
+     */
+    static Stream<PackProblem> problems(ByteBuffer buffer) {
+        return new PackBinaryReader(buffer, 0).stream(PackBinaryReader::problem);
+    }
+
+    /**
+     * Lazily decodes the solution records of a buffer.
+     *
+     * @param buffer the buffer containing the header and the records
+     * @return a stream with the indexes of the chosen items of each of the packs, one element for each record
+     * @throws APIException if the header is not valid
+     */
+    static Stream<int[][]> solutions(ByteBuffer buffer) {
+        return new PackBinaryReader(buffer, PackBinaryFormat.FLAG_SOLUTIONS).stream(PackBinaryReader::solution);
+    }
+
+    private <T> Stream<T> stream(Function<PackBinaryReader, T> decoder) {
+        Iterator<T> records = new Iterator<T>() {
+            @Override
+            public boolean hasNext() {
+                return position < buffer.limit();
+            }
+
+            @Override
+            public T next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long start = PackerMetrics.start();
+                record++;
+                end = buffer.limit();
+                int length = integer();
+                end = position + length;
+                if (end > buffer.limit() || end < position) {
+                    throw error("Truncated record %s of the binary input (byte %s)", record);
+                }
+                T value = decoder.apply(PackBinaryReader.this);
+                if (position != end) {
+                    throw error("Could not parse record %s of the binary input (byte %s)", record);
+                }
+                PackerMetrics.stop(Stage.PARSE, start);
+                return value;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(records, Spliterator.ORDERED | Spliterator.NONNULL), false);
+    }
+
+    private PackProblem problem() {
+        int capacityCount = integer();
+        int dimensions = integer();
+        int size = integer();
+        if (capacityCount == 0 || dimensions == 0 || capacityCount % dimensions != 0) {
+            throw error("Could not determine weight for record %s of the binary input (byte %s)", record);
+        }
+        checkFits(capacityCount + (long) size * (dimensions + 2));
+        int[] capacities = new int[capacityCount];
+        for (int i = 0; i < capacityCount; i++) {
+            capacities[i] = integer();
+        }
+        int[] indices = new int[size];
+        int[] weights = new int[size * dimensions];
+        int[] costs = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = integer();
+            for (int k = 0; k < dimensions; k++) {
+                weights[i * dimensions + k] = integer();
+            }
+            costs[i] = integer();
+        }
+        return new PackProblem(capacities, dimensions, indices, weights, costs);
+    }
+
+    private int[][] solution() {
+        int[][] solution = new int[checkFits(integer())][];
+        for (int pack = 0; pack < solution.length; pack++) {
+            solution[pack] = new int[checkFits(integer())];
+            for (int i = 0; i < solution[pack].length; i++) {
+                solution[pack][i] = integer();
+            }
+        }
+        return solution;
+    }
+
+    /**
+     * Makes sure the rest of the current record is large enough to contain the given amount of integers, so corrupted counts can't cause
+     * huge allocations.
+     *
+     * @param integers the amount of integers still to be decoded
+     * @return the given amount of integers
+     * @throws APIException if they don't fit the record
+     */
+    private int checkFits(long integers) {
+        if (integers * (varint ? 1 : Integer.BYTES) > end - position) {
+            throw error("Truncated record %s of the binary input (byte %s)", record);
+        }
+        return (int) integers;
+    }
+
+    /**
+     * Decodes a non-negative integer at the current position, in the encoding declared by the header.
+     *
+     * @return the decoded value
+     * @throws APIException if there are not enough bytes, or the value is negative or doesn't fit an int
+     */
+    private int integer() {
+        if (!varint) {
+            if (end - position < Integer.BYTES) {
+                throw error("Truncated record %s of the binary input (byte %s)", record);
+            }
+            int value = buffer.getInt(position);
+            if (value < 0) {
+                throw error("Could not parse record %s of the binary input (byte %s)", record);
+            }
+            position += Integer.BYTES;
+            return value;
+        }
+        long value = 0;
+        for (int shift = 0; shift < Integer.SIZE; shift += 7) {
+            if (position == end) {
+                throw error("Truncated record %s of the binary input (byte %s)", record);
+            }
+            byte b = buffer.get(position++);
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                if (value > Integer.MAX_VALUE) {
+                    break;
+                }
+                return (int) value;
+            }
+        }
+        throw error("Could not parse record %s of the binary input (byte %s)", record);
+    }
+
+    private APIException error(String message) {
+        return new APIException(String.format(message, position));
+    }
+
+    private APIException error(String message, int record) {
+        return new APIException(String.format(message, record, position));
+    }
+}
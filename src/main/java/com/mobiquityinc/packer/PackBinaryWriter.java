@@ -0,0 +1,171 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Item;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Encoder of the {@link PackBinaryFormat}, writing either packs or solutions to an {@link OutputStream}. The header is written when the
+ * writer is created, and each record is encoded into a reusable buffer, so its length is known before it is written.
+ * <p>
+ * This class is not safe for concurrent use.
+ */
+public class PackBinaryWriter implements Flushable {
+    private static final int INITIAL_CAPACITY = 256;
+
+    private final OutputStream output;
+    private final boolean varint;
+    private byte[] record = new byte[INITIAL_CAPACITY];
+    private int size;
+
+    private PackBinaryWriter(OutputStream output, boolean varint, boolean solutions) {
+        this.output = output;
+        this.varint = varint;
+        fixed(PackBinaryFormat.MAGIC);
+        append(PackBinaryFormat.VERSION);
+        append((varint ? PackBinaryFormat.FLAG_VARINT : 0) | (solutions ? PackBinaryFormat.FLAG_SOLUTIONS : 0));
+        writeRecord(0);
+    }
+
+    /**
+     * Instantiates a new PackBinaryWriter of packs, writing the header to {@code output}.
+     *
+     * @param output where the header and the records will be written to
+     * @param varint if the integers should be encoded as varints
+     * @return the new writer
+     * @throws APIException if the output can't be written
+     */
+    public static PackBinaryWriter forProblems(OutputStream output, boolean varint) {
+        return new PackBinaryWriter(output, varint, false);
+    }
+
+    /**
+     * Instantiates a new PackBinaryWriter of solutions, writing the header to {@code output}.
+     *
+     * @param output where the header and the records will be written to
+     * @param varint if the integers should be encoded as varints
+     * @return the new writer
+     * @throws APIException if the output can't be written
+     */
+    public static PackBinaryWriter forSolutions(OutputStream output, boolean varint) {
+        return new PackBinaryWriter(output, varint, true);
+    }
+
+    /**
+     * Writes the record of a pack.
+     *
+     * @param problem the compact representation of the pack
+     * @throws APIException if the output can't be written
+     */
+    public void write(PackProblem problem) {
+        integer(problem.getCapacities().length);
+        integer(problem.dimensions());
+        integer(problem.size());
+        for (int capacity : problem.getCapacities()) {
+            integer(capacity);
+        }
+        int dimensions = problem.dimensions();
+        for (int i = 0; i < problem.size(); i++) {
+            integer(problem.getIndices()[i]);
+            for (int k = 0; k < dimensions; k++) {
+                integer(problem.getWeights()[i * dimensions + k]);
+            }
+            integer(problem.getCosts()[i]);
+        }
+        writeRecord(lengthPrefix());
+    }
+
+    /**
+     * Writes the record of a solution.
+     *
+     * @param solution the chosen items of each of the packs of a line
+     * @throws APIException if the output can't be written
+     */
+    public void write(List<Pack> solution) {
+        integer(solution.size());
+        for (Pack pack : solution) {
+            integer(pack.getItems().size());
+            for (Item item : pack.getItems()) {
+                integer(item.getIndex());
+            }
+        }
+        writeRecord(lengthPrefix());
+    }
+
+    /**
+     * Flushes the underlying output.
+     *
+     * @throws APIException if the output can't be flushed
+     */
+    @Override
+    public void flush() {
+        try {
+            output.flush();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Encodes the length of the record being written at the end of the buffer, where it is found by {@link #writeRecord(int)}.
+     *
+     * @return the size of the length prefix, in bytes
+     */
+    private int lengthPrefix() {
+        int length = size;
+        integer(length);
+        return size - length;
+    }
+
+    /**
+     * Writes the buffered record, preceded by its length prefix, and clears the buffer.
+     *
+     * @param prefix the size of the length prefix, encoded after the record
+     */
+    private void writeRecord(int prefix) {
+        int length = size - prefix;
+        try {
+            if (prefix > 0) {
+                output.write(record, length, prefix);
+            }
+            output.write(record, 0, length);
+        } catch (IOException e) {
+            throw new APIException(e);
+        } finally {
+            size = 0;
+        }
+    }
+
+    private void integer(int value) {
+        if (varint) {
+            while ((value & ~0x7F) != 0) {
+                append(value & 0x7F | 0x80);
+                value >>>= 7;
+            }
+            append(value);
+        } else {
+            fixed(value);
+        }
+    }
+
+    private void fixed(int value) {
+        append(value >>> 24);
+        append(value >>> 16);
+        append(value >>> 8);
+        append(value);
+    }
+
+    private void append(int value) {
+        if (size == record.length) {
+            record = Arrays.copyOf(record, size * 2);
+        }
+        record[size++] = (byte) value;
+    }
+}
@@ -1,17 +1,32 @@
 package com.mobiquityinc.packer;
 
 import com.mobiquityinc.exception.APIException;
-import com.mobiquityinc.model.Item;
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
 import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
 
 import java.io.File;
 import java.io.IOException;
-import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
 
@@ -19,6 +34,12 @@ import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
  * Class responsible for reading a file containing the string representation of packs of items and parsing them into a list of {@link Pack}.
  */
 public class PackFileReader {
+    private static final int DEFAULT_REGION_SIZE = 1 << 30;
+    private static final int DEFAULT_CHUNK_SIZE = 1 << 23;
+
+    private int regionSize = DEFAULT_REGION_SIZE;
+    private int chunkSize = DEFAULT_CHUNK_SIZE;
+
     /**
      * Reads a file from a given path and return the correspondent list of Pack represented by the file's contents.
      * <p>
@@ -32,9 +53,12 @@ public class PackFileReader {
     public List<Pack> readFile(String filePath) {
         File file = new File(filePath);
         try {
-            return Files.readAllLines(file.toPath())
-                    .stream()
+            long start = PackerMetrics.start();
+            List<String> lines = Files.readAllLines(file.toPath());
+            PackerMetrics.stop(Stage.READ, start);
+            return lines.stream()
                     .map(this::parseLine)
+                    .map(PackProblem::toPack)
                     .collect(Collectors.toList());
         } catch (IOException e) {
             throw new APIException(e);
@@ -42,29 +66,258 @@ public class PackFileReader {
     }
 
     /**
-     * Will parse a line containing a representation of a pack into an actual {@link Pack}.
+     * Lazily reads a file from a given path, parsing each line only when it is consumed from the resulting stream. Unlike
+     * {@link #readFile(String)}, the file is never fully loaded into memory, and the lines are parsed straight into the compact
+     * {@link PackProblem} representation used by the solvers.
+     * <p>
+     * The stream holds the open file, so it must be closed after being consumed, preferably with a try-with-resources statement. Errors
+     * occurred while reading the file are thrown as {@link java.io.UncheckedIOException} during the consumption.
      *
-     * @param line the line to be parsed
-     * @return the Pack parsed from the line
+     * @param filePath the path to the file containing the packs' representations
+     * @return a stream of PackProblem, one for each line of the file
      * @see #readFile(String)
      */
-    private Pack parseLine(String line) {
-        Pack pack = new Pack();
-
-        String strippedLine = line.replaceAll("\\s", "");
-        Pattern indexPattern = Pattern.compile("(\\d+(?:\\.\\d{1,2})?):");
-        Matcher indexMatcher = indexPattern.matcher(strippedLine);
-        checkCondition(indexMatcher.find(), "Could not determine weight for line: %s", line);
-        pack.setWeight(new BigDecimal(indexMatcher.group(1)));
-
-        Pattern itemPattern = Pattern.compile("\\((\\d+),(\\d+(?:\\.\\d{1,2})?),\\D*(\\d+(?:\\.\\d{1,2})?)\\)");
-        Matcher itemMatcher = itemPattern.matcher(strippedLine);
-        while (itemMatcher.find()) {
-            int index = Integer.parseInt(itemMatcher.group(1));
-            BigDecimal weight = new BigDecimal(itemMatcher.group(2));
-            BigDecimal cost = new BigDecimal(itemMatcher.group(3));
-            pack.getItems().add(new Item(index, weight, cost));
+    public Stream<PackProblem> streamFile(String filePath) {
+        File file = new File(filePath);
+        try {
+            return Files.lines(file.toPath(), StandardCharsets.UTF_8)
+                    .map(this::parseLine);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Lazily reads a file in the {@link PackBinaryFormat} from a given path, by mapping it into memory. Each record is decoded straight
+     * from the mapped bytes only when it is consumed from the resulting stream, without being parsed as text.
+     *
+     * @param filePath the path to the file containing the packs' binary representations
+     * @return a stream of PackProblem, one for each record of the file
+     * @throws APIException if the file can't be read or its header is not valid, or (during the consumption) any of its records is not
+     *                      valid
+     * @see PackBinaryFormat#read(java.nio.ByteBuffer)
+     */
+    public Stream<PackProblem> streamBinaryFile(String filePath) {
+        File file = new File(filePath);
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long start = PackerMetrics.start();
+            long size = channel.size();
+            checkCondition(size <= Integer.MAX_VALUE, "The binary file size (%s) is larger than the maximum allowed (%s)",
+                    size, Integer.MAX_VALUE);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size); // stays valid after the channel is closed
+            PackerMetrics.stop(Stage.READ, start);
+            return PackBinaryFormat.read(buffer);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Lazily reads a file from a given path by mapping it into memory, parsing its lines concurrently on the given executor. Intended for
+     * very large files, it gives the same results of {@link #streamFile(String)}, in the same order, without creating a String for each
+     * line.
+     * <p>
+     * The file is mapped in regions of up to 1 GiB, so files larger than 2 GiB are supported. Each region is split into chunks of about
+     * 8 MiB, both always ending on a line feed, and each chunk is parsed by its own task, straight from the mapped bytes. Regions are only
+     * mapped and chunks only submitted as the stream is consumed: at most {@code maxInFlight} chunks are parsed ahead of the one being
+     * consumed, so the memory usage doesn't depend on the size of the file.
+     * <p>
+     * The stream holds the open file, so it must be closed after being consumed, preferably with a try-with-resources statement, which
+     * also cancels the chunks not yet parsed. The columns reported by the parsing errors count chars, as the ones of
+     * {@link #streamFile(String)} do, even though the lines are parsed as bytes.
+     *
+     * @param filePath    the path to the file containing the packs' representations
+     * @param executor    the executor where the chunks will be parsed
+     * @param maxInFlight the maximum amount of chunks being parsed or waiting to be consumed at any time
+     * @return a stream of PackProblem, one for each line of the file
+     * @throws APIException if the file can't be read, or (during the consumption) any of its lines is not valid
+     * @see #streamFile(String)
+     */
+    public Stream<PackProblem> streamFileMapped(String filePath, Executor executor, int maxInFlight) {
+        checkCondition(maxInFlight > 0, "The maximum amount of chunks in flight (%s) should be positive", maxInFlight);
+        File file = new File(filePath);
+        FileChannel channel = null;
+        try {
+            channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+            MappedChunks chunks = new MappedChunks(channel, executor, maxInFlight);
+            return StreamSupport.stream(Spliterators.spliteratorUnknownSize(chunks, Spliterator.ORDERED | Spliterator.NONNULL), false)
+                    .flatMap(List::stream)
+                    .onClose(chunks::close);
+        } catch (IOException e) {
+            if (channel != null) { // the stream owning the channel wasn't created
+                try {
+                    channel.close();
+                } catch (IOException closing) {
+                    e.addSuppressed(closing);
+                }
+            }
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Replaces the sizes used to map and split the files read by {@link #streamFileMapped(String, Executor, int)}.
+     *
+     * @param regionSize the maximum size of each mapped region, in bytes
+     * @param chunkSize  the approximate size of each chunk parsed by a single task, in bytes
+     */
+    void setMappingSizes(int regionSize, int chunkSize) {
+        this.regionSize = regionSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Searches for a line feed from the given position, in the given direction.
+     *
+     * @param buffer    the buffer to be searched
+     * @param position  the position where the search starts
+     * @param direction {@code 1} to search forwards, {@code -1} to search backwards
+     * @return the position after the line feed found, the buffer's limit if none was found forwards or {@code 0} if none was found
+     * backwards
+     */
+    private static int lineEnd(MappedByteBuffer buffer, int position, int direction) {
+        for (int i = position; i >= 0 && i < buffer.limit(); i += direction) {
+            if (buffer.get(i) == '\n') {
+                return i + 1;
+            }
+        }
+        return direction > 0 ? buffer.limit() : 0;
+    }
+
+    /**
+     * Parses the lines contained in a range of a mapped region, ignoring the empty line after the last line feed of the range.
+     *
+     * @param region the mapped region
+     * @param start  the position of the first byte of the range, inclusive
+     * @param end    the position of the last byte of the range, exclusive
+     * @return the problems parsed from the range
+     */
+    private static List<PackProblem> parseChunk(MappedByteBuffer region, int start, int end) {
+        List<PackProblem> problems = new ArrayList<>();
+        ByteBufferSequence line = new ByteBufferSequence(region);
+        int lineStart = start;
+        while (lineStart < end) {
+            int lineEnd = lineStart;
+            while (lineEnd < end && region.get(lineEnd) != '\n') {
+                lineEnd++;
+            }
+            long parseStart = PackerMetrics.start();
+            problems.add(PackLineScanner.scan(line.reset(lineStart, lineEnd)));
+            PackerMetrics.stop(Stage.PARSE, parseStart);
+            lineStart = lineEnd + 1;
+        }
+        return problems;
+    }
+
+    /**
+     * The chunks of a mapped file, in order. Regions are mapped and chunks are submitted to the executor only when needed to keep
+     * {@link #maxInFlight} chunks pending, and each chunk is waited for when it is consumed.
+     */
+    private final class MappedChunks implements Iterator<List<PackProblem>> {
+        private final FileChannel channel;
+        private final Executor executor;
+        private final int maxInFlight;
+        private final Deque<CompletableFuture<List<PackProblem>>> pending;
+        private final long size;
+        private long regionStart;
+        private MappedByteBuffer region;
+        private int regionEnd;
+        private int chunkStart;
+
+        private MappedChunks(FileChannel channel, Executor executor, int maxInFlight) throws IOException {
+            this.channel = channel;
+            this.executor = executor;
+            this.maxInFlight = maxInFlight;
+            this.pending = new ArrayDeque<>(maxInFlight);
+            this.size = channel.size();
         }
-        return pack;
+
+        @Override
+        public boolean hasNext() {
+            try {
+                while (pending.size() < maxInFlight && submitNext()) {
+                    // keeps submitting until the limit is reached or the file ends
+                }
+            } catch (IOException e) {
+                throw new APIException(e);
+            }
+            return !pending.isEmpty();
+        }
+
+        @Override
+        public List<PackProblem> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            try {
+                return pending.poll().join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+            }
+        }
+
+        /**
+         * Submits the next chunk of the file, mapping the next region if the current one was fully submitted.
+         *
+         * @return {@code false} if the whole file was already submitted
+         * @throws IOException if the next region can't be mapped
+         */
+        private boolean submitNext() throws IOException {
+            if (region == null || chunkStart >= regionEnd) {
+                if (region != null) {
+                    regionStart += regionEnd;
+                    region = null;
+                }
+                if (regionStart >= size) {
+                    return false;
+                }
+                long start = PackerMetrics.start();
+                region = channel.map(FileChannel.MapMode.READ_ONLY, regionStart, Math.min(regionSize, size - regionStart));
+                PackerMetrics.stop(Stage.READ, start);
+                regionEnd = region.limit();
+                if (regionStart + regionEnd < size) {
+                    regionEnd = lineEnd(region, regionEnd - 1, -1);
+                    checkCondition(regionEnd > 0, "The line at byte %s is longer than the mapped region size (%s)",
+                            regionStart, regionSize);
+                }
+                chunkStart = 0;
+            }
+            int chunkEnd = chunkSize >= regionEnd - chunkStart ? regionEnd : lineEnd(region, chunkStart + chunkSize - 1, 1);
+            MappedByteBuffer mapped = region;
+            int start = chunkStart;
+            int end = Math.min(chunkEnd, regionEnd);
+            pending.add(CompletableFuture.supplyAsync(() -> parseChunk(mapped, start, end), executor));
+            chunkStart = end;
+            return true;
+        }
+
+        /**
+         * Cancels the chunks not yet parsed and closes the file. The mapped regions stay valid until they are garbage collected.
+         */
+        private void close() {
+            pending.forEach(chunk -> chunk.cancel(false));
+            pending.clear();
+            try {
+                channel.close();
+            } catch (IOException e) {
+                throw new APIException(e);
+            }
+        }
+    }
+
+    /**
+     * Will parse a line containing a representation of a pack into its compact representation.
+     *
+     * @param line the line to be parsed
+     * @return the PackProblem parsed from the line
+     * @throws APIException if the line doesn't follow the expected pattern, indicating the column where the parsing failed
+     * @see #readFile(String)
+     * @see PackLineScanner
+     */
+    PackProblem parseLine(String line) {
+        long start = PackerMetrics.start();
+        PackProblem problem = PackLineScanner.scan(line);
+        PackerMetrics.stop(Stage.PARSE, start);
+        return problem;
     }
 }
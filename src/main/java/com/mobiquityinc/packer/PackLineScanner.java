@@ -0,0 +1,229 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.FixedPoint;
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+
+/**
+ * Single-pass scanner for the String representation of a pack, parsing its weights and costs directly into the {@link FixedPoint}
+ * representation, without regular expressions or intermediate Strings. Each line must follow the pattern:
+ * <p>
+ * {@code [maximumWeight] : ([itemIndex],[itemWeight],[itemCost]) ([itemIndex],[itemWeight],[itemCost])...}
+ * <p>
+ * Several packs sharing the same items can be declared by separating their maximum weights with commas, as in {@code 50,30 : ...}.
+ * Resources other than the weight (such as volume) can be limited by separating the maximum amount of each one with slashes, and giving
+ * every item the same amount of dimensions, as in {@code 50/20 : (1,12.5/3,€10)}.
+ * Whitespace is allowed around each of the tokens, weights and costs can have up to two decimal places and costs can be preceded by a
+ * currency symbol. In case of errors, the column (starting at 1) where the parsing failed is added to the message.
+ * <p>
+ * The items are collected into per-thread scratch arrays, grown to the largest line seen by each thread, so only the exact-sized arrays
+ * of the resulting {@link PackProblem} are allocated for each line.
+ */
+final class PackLineScanner {
+    private static final int INITIAL_CAPACITY = 16;
+    private static final long MAX_VALUE = Integer.MAX_VALUE;
+    private static final ThreadLocal<Scratch> SCRATCH = ThreadLocal.withInitial(Scratch::new);
+
+    private final CharSequence line;
+    private final Scratch scratch;
+    private int position;
+    private int size;
+    private int dimensions;
+
+    private PackLineScanner(CharSequence line, Scratch scratch) {
+        this.line = line;
+        this.scratch = scratch;
+    }
+
+    /**
+     * Parses a line containing a representation of a pack.
+     *
+     * @param line the line to be parsed
+     * @return the compact representation of the pack
+     * @throws APIException if the line doesn't follow the expected pattern
+     */
+    static PackProblem scan(CharSequence line) {
+        return new PackLineScanner(line, SCRATCH.get()).scanPack();
+    }
+
+    private PackProblem scanPack() {
+        int[] capacities = scanCapacities();
+        skipWhitespace();
+        while (position < line.length()) {
+            scanItem();
+            skipWhitespace();
+        }
+        return new PackProblem(capacities, dimensions, Arrays.copyOf(scratch.indices, size),
+                Arrays.copyOf(scratch.weights, size * dimensions), Arrays.copyOf(scratch.costs, size));
+    }
+
+    /**
+     * Parses the capacities of the packs, each one with the same amount of dimensions as the first one.
+     *
+     * @return the packed capacities
+     */
+    private int[] scanCapacities() {
+        int[] capacities = new int[1];
+        int count = 0;
+        do {
+            int packDimensions = 0;
+            do {
+                skipWhitespace();
+                long capacity = number();
+                skipWhitespace();
+                if (capacity < 0) {
+                    throw weightError();
+                }
+                if (count == capacities.length) {
+                    capacities = Arrays.copyOf(capacities, count * 2);
+                }
+                capacities[count++] = (int) capacity;
+                packDimensions++;
+            } while (accept('/'));
+            if (dimensions == 0) {
+                dimensions = packDimensions;
+            } else if (packDimensions != dimensions) {
+                throw weightError();
+            }
+        } while (accept(','));
+        if (!accept(':')) {
+            throw weightError();
+        }
+        return count == capacities.length ? capacities : Arrays.copyOf(capacities, count);
+    }
+
+    private void scanItem() {
+        if (!accept('(')) {
+            throw itemError();
+        }
+        skipWhitespace();
+        long index = integer();
+        skipWhitespace();
+        if (index < 0 || !accept(',')) {
+            throw itemError();
+        }
+        ensureRoom();
+        for (int k = 0; k < dimensions; k++) {
+            if (k > 0 && !accept('/')) {
+                throw itemError();
+            }
+            skipWhitespace();
+            long weight = number();
+            skipWhitespace();
+            if (weight < 0) {
+                throw itemError();
+            }
+            scratch.weights[size * dimensions + k] = (int) weight;
+        }
+        if (!accept(',')) {
+            throw itemError();
+        }
+        while (position < line.length() && !isDigit(line.charAt(position)) && line.charAt(position) != ')') { // currency and whitespace
+            position++;
+        }
+        long cost = number();
+        skipWhitespace();
+        if (cost < 0 || !accept(')')) {
+            throw itemError();
+        }
+        scratch.indices[size] = (int) index;
+        scratch.costs[size] = (int) cost;
+        size++;
+    }
+
+    /**
+     * Parses a non-negative integer at the current position.
+     *
+     * @return the parsed value, or {@code -1} if there is no valid integer at the current position
+     */
+    private long integer() {
+        int start = position;
+        long value = 0;
+        while (position < line.length() && isDigit(line.charAt(position))) {
+            value = value * 10 + line.charAt(position++) - '0';
+            if (value > MAX_VALUE) {
+                return -1;
+            }
+        }
+        return position == start ? -1 : value;
+    }
+
+    /**
+     * Parses a non-negative decimal number, with up to two decimal places, at the current position.
+     *
+     * @return the parsed value in hundredths, or {@code -1} if there is no valid number at the current position
+     */
+    private long number() {
+        long value = integer();
+        if (value < 0) {
+            return -1;
+        }
+        value *= FixedPoint.ONE;
+        if (accept('.')) {
+            int start = position;
+            long decimals = integer();
+            int digits = position - start;
+            if (decimals < 0 || digits > FixedPoint.SCALE) {
+                position = start;
+                return -1;
+            }
+            value += digits == 1 ? decimals * 10 : decimals;
+        }
+        return value > MAX_VALUE ? -1 : value;
+    }
+
+    private boolean accept(char expected) {
+        if (position < line.length() && line.charAt(position) == expected) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhitespace() {
+        while (position < line.length() && Character.isWhitespace(line.charAt(position))) {
+            position++;
+        }
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    /**
+     * Makes sure the scratch arrays have room for one more item, doubling them when they are full.
+     */
+    private void ensureRoom() {
+        if (size == scratch.indices.length) {
+            scratch.indices = Arrays.copyOf(scratch.indices, size * 2);
+            scratch.costs = Arrays.copyOf(scratch.costs, size * 2);
+        }
+        if ((size + 1) * dimensions > scratch.weights.length) {
+            scratch.weights = Arrays.copyOf(scratch.weights, Math.max(scratch.weights.length * 2, (size + 1) * dimensions));
+        }
+    }
+
+    private APIException weightError() {
+        return error("Could not determine weight for line: %s (column %s)");
+    }
+
+    private APIException itemError() {
+        return error("Could not parse item for line: %s (column %s)");
+    }
+
+    private APIException error(String message) {
+        int column = line instanceof ByteBufferSequence ? ((ByteBufferSequence) line).charIndex(position) : position;
+        return new APIException(String.format(message, line, column + 1));
+    }
+
+    /**
+     * The arrays collecting the items of a line, reused by all the lines scanned by a thread.
+     */
+    private static final class Scratch {
+        private int[] indices = new int[INITIAL_CAPACITY];
+        private int[] weights = new int[INITIAL_CAPACITY];
+        private int[] costs = new int[INITIAL_CAPACITY];
+    }
+}
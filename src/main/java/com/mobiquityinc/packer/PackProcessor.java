@@ -1,27 +1,144 @@
 package com.mobiquityinc.packer;
 
-import com.mobiquityinc.model.Item;
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
+import com.mobiquityinc.model.FixedPoint;
 import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import com.mobiquityinc.model.PackResult;
+import com.mobiquityinc.solver.AnytimePackSolver;
+import com.mobiquityinc.solver.BranchAndBoundMultiPackSolver;
+import com.mobiquityinc.solver.BranchAndBoundPackSolver;
+import com.mobiquityinc.solver.DynamicProgrammingPackSolver;
+import com.mobiquityinc.solver.FptasPackSolver;
+import com.mobiquityinc.solver.MultiDimensionalPackSolver;
+import com.mobiquityinc.solver.MultiPackSolver;
+import com.mobiquityinc.solver.PackSolver;
+import com.mobiquityinc.solver.Relaxation;
+import com.mobiquityinc.solver.TopKPackSolver;
 
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.BitSet;
 import java.util.Collections;
-import java.util.Comparator;
+import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BooleanSupplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
 
 /**
  * Is responsible for parsing a file containing a String representation of the packs and determine what is the best subset of items from
  * a group that fit in a pack, summing the highest value without exceeding the pack's maximum weight.
+ * <p>
+ * Lines declaring several maximum weights have their items distributed across that many packs, and the result for the line has the
+ * indexes of the items of each pack separated by semicolons, such as {@code 1,4;2,3}. Lines limiting several resources, such as weight
+ * and volume, are solved taking all of them into account.
  */
 public class PackProcessor {
-    private static final int MAX_ITEMS_PER_LIST = 15;
-    private static final BigDecimal MAX_PACKAGE_WEIGHT = BigDecimal.valueOf(100);
-    private static final BigDecimal MAX_ITEM_WEIGHT = BigDecimal.valueOf(100);
-    private static final BigDecimal MAX_ITEM_COST = BigDecimal.valueOf(100);
+    private static final int DEFAULT_MAX_ITEMS_PER_LIST = 15;
+    private static final int MAX_PACKAGE_WEIGHT = 100 * FixedPoint.ONE;
+    private static final int MAX_ITEM_WEIGHT = 100 * FixedPoint.ONE;
+    private static final int MAX_ITEM_COST = 100 * FixedPoint.ONE;
 
     private PackFileReader fileReader = new PackFileReader();
+    private PackSolver solver = new DynamicProgrammingPackSolver();
+    private MultiPackSolver multiPackSolver = new BranchAndBoundMultiPackSolver();
+    private PackSolver multiDimensionalSolver = new MultiDimensionalPackSolver();
+    private AnytimePackSolver anytimeSolver = new BranchAndBoundPackSolver();
+    private int maxItemsPerList = DEFAULT_MAX_ITEMS_PER_LIST;
+    private Executor executor;
+    private int maxInFlight;
+
+    /**
+     * Replaces the strategy used to pick the items of each pack. By default, an exact {@link DynamicProgrammingPackSolver} is used.
+     * Wrapping the solver in a {@link com.mobiquityinc.solver.ReducingPackSolver} adds a reduction stage, eliminating the items that can
+     * be decided upfront before it runs.
+     *
+     * @param solver the solver to be used by this processor
+     */
+    public void setSolver(PackSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Enables the approximate mode, where packs are solved by a {@link FptasPackSolver}, whose latency is bounded by the amount of items
+     * and the given {@code epsilon} instead of the capacity. The solutions cost at least {@code (1 - epsilon)} times the optimum, and the
+     * {@link PackResult#getUpperBound() upper bound} of the optimum is reported by {@link #solveAll(List)}.
+     *
+     * @param epsilon the maximum relative distance from the optimum, greater than 0 and less than 1
+     */
+    public void setApproximation(double epsilon) {
+        this.solver = new FptasPackSolver(epsilon);
+    }
+
+    /**
+     * Replaces the strategy used to distribute the items of the lines declaring several packs. By default, an exact
+     * {@link BranchAndBoundMultiPackSolver} is used.
+     *
+     * @param multiPackSolver the solver to be used by this processor for several packs
+     */
+    public void setMultiPackSolver(MultiPackSolver multiPackSolver) {
+        this.multiPackSolver = multiPackSolver;
+    }
+
+    /**
+     * Replaces the strategy used to pick the items of the lines limiting several resources. By default, an exact
+     * {@link MultiDimensionalPackSolver} is used.
+     *
+     * @param multiDimensionalSolver the solver to be used by this processor for several dimensions
+     */
+    public void setMultiDimensionalSolver(PackSolver multiDimensionalSolver) {
+        this.multiDimensionalSolver = multiDimensionalSolver;
+    }
+
+    /**
+     * Replaces the strategy used to pick the items of the packs solved asynchronously, which must be able to stop when their deadline
+     * is reached. By default, a {@link BranchAndBoundPackSolver} is used.
+     *
+     * @param anytimeSolver the solver to be used by this processor for the asynchronous methods
+     * @see #solveAsync(Pack, Duration)
+     */
+    public void setAnytimeSolver(AnytimePackSolver anytimeSolver) {
+        this.anytimeSolver = anytimeSolver;
+    }
+
+    /**
+     * Replaces the maximum amount of items allowed in each pack, which is {@value #DEFAULT_MAX_ITEMS_PER_LIST} by default. Larger lists
+     * should be combined with a solver that remains tractable for them, such as the
+     * {@link com.mobiquityinc.solver.MeetInTheMiddlePackSolver} or the default {@link DynamicProgrammingPackSolver}.
+     *
+     * @param maxItemsPerList the maximum amount of items allowed in each pack
+     */
+    public void setMaxItemsPerList(int maxItemsPerList) {
+        this.maxItemsPerList = maxItemsPerList;
+    }
+
+    /**
+     * Enables the parallel mode of {@link #processFile(String, Appendable)}, where the packs are solved concurrently by the given
+     * executor (such as a {@link java.util.concurrent.ForkJoinPool}), while the results are still written in the input order. At most
+     * {@code maxInFlight} packs are read ahead of the oldest one not yet written, so memory usage stays bounded. The configured solver
+     * must be safe for concurrent use, as all the solvers from {@link com.mobiquityinc.solver} are.
+     *
+     * @param executor    the executor solving the packs, or {@code null} to process them sequentially
+     * @param maxInFlight the maximum amount of packs being solved or waiting to be written at any time
+     */
+    public void setExecutor(Executor executor, int maxInFlight) {
+        checkCondition(maxInFlight > 0, "The maximum amount of packs in flight (%s) should be positive", maxInFlight);
+        this.executor = executor;
+        this.maxInFlight = maxInFlight;
+    }
 
     /**
      * This method accepts a file path, that will have each pf its lines parsed into a {@link Pack}, containing items that can be chosen
@@ -39,100 +156,438 @@ public class PackProcessor {
     public String processFile(String filePath) {
         List<Pack> packs = fileReader.readFile(filePath);
 
-        return String.join("\n",
-                packs.stream()
-                        .peek(this::validatePack)
-                        .map(this::pickItems)
-                        .map(Pack::toString)
-                        .collect(Collectors.toList()));
+        PackResultSink output = PackResultSink.inMemory();
+        for (Pack pack : packs) {
+            output.write(solve(PackProblem.of(pack)));
+        }
+        return output.toString();
     }
 
     /**
-     * This method will generate all the different possible combinations of items that don't exceed the maximum weight and return the
-     * best one (highest value, without exceeding the maximum weight).
-     * <p>
-     * It is a slightly modified implementation of a <a href='https://en.wikipedia.org/wiki/Power_set'>power set</a>, tweaked
-     * to be more performatic by eliminating the combinations that don't fit the weight constraints.
+     * Streaming version of {@link #processFile(String)}: each line of the file is read, solved and written to {@code output} before the
+     * next one is read, so the memory usage doesn't depend on the size of the file. The results are written in the same format, one line
+     * per pack, separated by line feeds.
+     *
+     * @param filePath the path to be parsed into packs
+     * @param output   where the indexes of the chosen items will be written to
+     * @throws APIException if the file can't be read, any of its packs is not valid or the output can't be written
+     * @see PackFileReader#streamFile(String)
+     */
+    public void processFile(String filePath, Appendable output) {
+        try (Stream<PackProblem> packs = fileReader.streamFile(filePath)) {
+            process(packs, output);
+        }
+    }
+
+    /**
+     * Version of {@link #processFile(String, Appendable)} for very large files, which are mapped into memory and have their lines parsed
+     * concurrently, in chunks, on the {@link #setExecutor(Executor, int) configured executor} (or the
+     * {@link ForkJoinPool#commonPool() common pool}, if there is none). At most one chunk per available processor is parsed ahead of the
+     * packs being solved, and the packs are then solved and written as done by {@link #processFile(String, Appendable)}.
+     *
+     * @param filePath the path to be parsed into packs
+     * @param output   where the indexes of the chosen items will be written to
+     * @throws APIException if the file can't be read, any of its packs is not valid or the output can't be written
+     * @see PackFileReader#streamFileMapped(String, Executor, int)
+     */
+    public void processMappedFile(String filePath, Appendable output) {
+        int maxChunksInFlight = Runtime.getRuntime().availableProcessors();
+        try (Stream<PackProblem> packs = fileReader.streamFileMapped(filePath, asyncExecutor(), maxChunksInFlight)) {
+            process(packs, output);
+        }
+    }
+
+    /**
+     * Version of {@link #processFile(String, Appendable)} writing to a {@link PackResultSink}, which encodes the indexes of the chosen
+     * items straight into its buffer, without formatting any String. The sink is flushed, but not closed, when all the packs are written.
+     *
+     * @param filePath the path to be parsed into packs
+     * @param output   where the indexes of the chosen items will be written to
+     * @throws APIException if the file can't be read, any of its packs is not valid or the output can't be written
+     * @see PackFileReader#streamFile(String)
+     */
+    public void processFile(String filePath, PackResultSink output) {
+        try (Stream<PackProblem> packs = fileReader.streamFile(filePath)) {
+            process(packs, (solution, first) -> output.write(solution));
+        }
+        output.flush();
+    }
+
+    /**
+     * Binary version of {@link #processFile(String, Appendable)}: each record of a file in the {@link PackBinaryFormat} is decoded, solved
+     * and written to {@code output} as a solution record, skipping the parsing and formatting of text.
+     *
+     * @param filePath the path to the binary file containing the packs
+     * @param output   where the solution records will be written to, preceded by their header
+     * @param varint   if the integers of the solutions should be encoded as varints
+     * @throws APIException if the file can't be read, any of its packs is not valid or the output can't be written
+     * @see PackFileReader#streamBinaryFile(String)
+     */
+    public void processBinaryFile(String filePath, OutputStream output, boolean varint) {
+        PackBinaryWriter writer = PackBinaryWriter.forSolutions(output, varint);
+        try (Stream<PackProblem> packs = fileReader.streamBinaryFile(filePath)) {
+            process(packs, (solution, first) -> writer.write(solution));
+        }
+        writer.flush();
+    }
+
+    /**
+     * Processes lines that didn't come from a file, such as the ones received by the {@link PackServer}, in the same way as
+     * {@link #processFile(String, Appendable)}: each line is parsed, solved and written to {@code output} as it is consumed.
+     *
+     * @param lines  the lines representing the packs
+     * @param output where the indexes of the chosen items will be written to
+     * @throws APIException if any of the lines is not valid or the output can't be written
+     * @see PackFileReader#parseLine(String)
+     */
+    public void processLines(Stream<String> lines, Appendable output) {
+        process(lines.map(fileReader::parseLine), output);
+    }
+
+    /**
+     * Solves packs already in memory, skipping the file reading and the String formatting. Each pack is validated and solved in the same
+     * way as the lines of {@link #processFile(String)}. Packs with {@link Pack#getCapacities() several capacities} are not supported.
+     *
+     * @param packs the packs containing all items that can be chosen
+     * @return the results for each of the packs, in the same order
+     * @throws APIException if any of the packs is not valid
+     */
+    public List<PackResult> solveAll(List<Pack> packs) {
+        return solveAll(packs.stream()).collect(Collectors.toList());
+    }
+
+    /**
+     * Lazily solves a stream of packs already in memory: each pack is only validated and solved when its result is consumed. Since the
+     * solvers are safe for concurrent use, the stream can be parallel.
+     *
+     * @param packs the packs containing all items that can be chosen
+     * @return a stream of the results for each of the packs, in the same order
+     * @see #solveAll(List)
+     */
+    public Stream<PackResult> solveAll(Stream<Pack> packs) {
+        return packs.map(pack -> {
+            checkCondition(pack.getCapacities().size() <= 1, "Only single packs can be solved into results, not %s packs",
+                    pack.getCapacities().size());
+            long start = System.nanoTime();
+            PackProblem problem = PackProblem.of(pack);
+            Pack solution = solve(problem).get(0);
+            long upperBound = solverFor(problem).upperBound(problem, FixedPoint.toFixedPoint(solution.getCost()));
+            return new PackResult(solution, FixedPoint.toDecimal(upperBound), Duration.ofNanos(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Solves a pack already in memory into its {@code k} best alternatives, for callers applying further rules to choose among them.
+     * The pack is validated in the same way as the ones of {@link #solveAll(List)}, and the alternatives are enumerated by a
+     * {@link TopKPackSolver} on top of the configured solver, which should be exact. All the results share the same solve time.
+     *
+     * @param pack the pack containing all items that can be chosen, with a single capacity
+     * @param k    the maximum amount of alternatives
+     * @return the results for each alternative, ordered by highest cost, then lowest weight, having less than {@code k} of them only if
+     * the pack has no other feasible subsets of items
+     * @throws APIException if the pack is not valid, or {@code k} is not positive
+     */
+    public List<PackResult> solveTopK(Pack pack, int k) {
+        checkCondition(pack.getCapacities().size() <= 1, "Only single packs can be solved into results, not %s packs",
+                pack.getCapacities().size());
+        long start = System.nanoTime();
+        PackProblem problem = PackProblem.of(pack);
+        validatePack(problem);
+        long solveStart = PackerMetrics.start();
+        List<BitSet> solutions = new TopKPackSolver(solverFor(problem)).solve(problem, k);
+        PackerMetrics.stop(Stage.SOLVE, solveStart);
+        Duration solveTime = Duration.ofNanos(System.nanoTime() - start);
+        return solutions.stream()
+                .map(chosen -> new PackResult(problem.toPack(chosen), solveTime))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Asynchronously validates and solves a pack in memory, on the {@link #setExecutor(Executor, int) configured executor} (or the
+     * {@link ForkJoinPool#commonPool() common pool}, if there is none), with the configured {@link AnytimePackSolver}.
      * <p>
-     * Steps:
-     * <ul>
-     * <li>1. Sorts all the items that can be chosen, by highest cost/lowest weight;</li>
-     * <li>2. Outer loop, for controlling the items that were already matched with the others;</li>
-     * <li>3. Inner loop, for getting the item that will be actually matched against the others;</li>
-     * <li>4. Determine what item is the one to be matched with the remaining ones;</li>
-     * <li>5. If the item being matched exceeds the weight by itself, there's no point in checking its combinations;</li>
-     * <li>6. The actual matcher loop, that will try the remaining possible combinations for the item;</li>
-     * <li>7. The check to determine the item from the loop is not the same being matched and if its addition won't exceed the maximum
-     * weight;</li>
-     * <li>8. Store the most recently created pack, if it is better than the other generated by previous iterations.</li>
-     * </ul>
+     * If the solver is still running when the {@code timeout} (counted from this call) is over, it is stopped, and the best solution found
+     * so far is returned, having the LP relaxation of the pack as its {@link PackResult#getUpperBound() upper bound}. Cancelling the
+     * returned future also stops the solver, as soon as it checks its stop condition again.
+     *
+     * @param pack    the pack containing all items that can be chosen, with a single capacity and dimension
+     * @param timeout the maximum time to be spent until the pack is solved
+     * @return the future result of the pack, completed exceptionally with an {@link APIException} if the pack is not valid
+     */
+    public CompletableFuture<PackResult> solveAsync(Pack pack, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<PackResult> result = new CompletableFuture<>();
+        asyncExecutor().execute(() -> solveBefore(pack, deadline, result, result::isDone));
+        return result;
+    }
+
+    /**
+     * Asynchronously validates and solves packs in memory, in the same way as {@link #solveAsync(Pack, Duration)}, each pack being solved
+     * by a separate task. All the packs share the same {@code timeout}, and cancelling the returned future stops all of them.
+     *
+     * @param packs   the packs containing all items that can be chosen, each with a single capacity and dimension
+     * @param timeout the maximum time to be spent until all the packs are solved
+     * @return the future results for each of the packs, in the same order, completed exceptionally with an {@link APIException} if any
+     * of the packs is not valid
+     */
+    public CompletableFuture<List<PackResult>> solveAllAsync(List<Pack> packs, Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        CompletableFuture<List<PackResult>> batch = new CompletableFuture<>();
+        List<CompletableFuture<PackResult>> results = packs.stream().map(pack -> {
+            CompletableFuture<PackResult> result = new CompletableFuture<>();
+            asyncExecutor().execute(() -> solveBefore(pack, deadline, result, () -> result.isDone() || batch.isDone()));
+            return result;
+        }).collect(Collectors.toList());
+
+        CompletableFuture.allOf(results.toArray(new CompletableFuture<?>[0])).whenComplete((ignored, e) -> {
+            if (e != null) {
+                batch.completeExceptionally(e instanceof CompletionException ? e.getCause() : e);
+            } else {
+                batch.complete(results.stream().map(CompletableFuture::join).collect(Collectors.toList()));
+            }
+        });
+        return batch;
+    }
+
+    private Executor asyncExecutor() {
+        return executor != null ? executor : ForkJoinPool.commonPool();
+    }
+
+    /**
+     * Validates and solves a pack, stopping the solver when the deadline is reached or the result is no longer needed.
+     *
+     * @param pack      the pack containing all items that can be chosen
+     * @param deadline  the value of {@link System#nanoTime()} when the solver must stop
+     * @param result    the future to be completed with the result
+     * @param cancelled whether the result is no longer needed, such as when its future was cancelled
+     */
+    private void solveBefore(Pack pack, long deadline, CompletableFuture<PackResult> result, BooleanSupplier cancelled) {
+        if (cancelled.getAsBoolean()) {
+            return;
+        }
+        try {
+            long start = System.nanoTime();
+            PackProblem problem = PackProblem.of(pack);
+            checkCondition(problem.packCount() == 1 && problem.dimensions() == 1,
+                    "Only packs with a single capacity and dimension can be solved asynchronously");
+            validatePack(problem);
+
+            boolean[] stopped = {false};
+            long solveStart = PackerMetrics.start();
+            BitSet chosen = anytimeSolver.solve(problem, () -> {
+                stopped[0] = cancelled.getAsBoolean() || System.nanoTime() - deadline >= 0;
+                return stopped[0];
+            });
+            PackerMetrics.stop(Stage.SOLVE, solveStart);
+
+            Pack solution = problem.toPack(chosen);
+            long cost = FixedPoint.toFixedPoint(solution.getCost());
+            long upperBound = stopped[0] ? Math.max(cost, Relaxation.of(problem)) : anytimeSolver.upperBound(problem, cost);
+            result.complete(new PackResult(solution, FixedPoint.toDecimal(upperBound), Duration.ofNanos(System.nanoTime() - start)));
+        } catch (RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Solves and writes the given packs as lines of text.
+     *
+     * @param packs  the packs to be solved
+     * @param output where the indexes of the chosen items will be written to
+     */
+    private void process(Stream<PackProblem> packs, Appendable output) {
+        process(packs, (solution, first) -> write(output, solution, first));
+    }
+
+    /**
+     * Solves and writes the given packs, either sequentially or concurrently, depending on the {@link #setExecutor(Executor, int)
+     * configured executor}.
+     *
+     * @param packs  the packs to be solved
+     * @param output where the solutions will be written to
+     */
+    private void process(Stream<PackProblem> packs, SolutionWriter output) {
+        try {
+            if (executor == null) {
+                processSequentially(packs.iterator(), output);
+            } else {
+                processConcurrently(packs.iterator(), output);
+            }
+        } catch (IOException e) {
+            throw new APIException(e);
+        } catch (UncheckedIOException e) {
+            throw new APIException(e.getCause());
+        }
+    }
+
+    /**
+     * Solves and writes each pack before reading the next one.
+     *
+     * @param packs  the packs read from the file
+     * @param output where the indexes of the chosen items will be written to
+     * @throws IOException if the output can't be written
+     */
+    private void processSequentially(Iterator<PackProblem> packs, SolutionWriter output) throws IOException {
+        boolean first = true;
+        while (packs.hasNext()) {
+            output.write(solve(packs.next()), first);
+            first = false;
+        }
+    }
+
+    /**
+     * Submits each pack to the executor, keeping the pending results in input order. Whenever {@link #maxInFlight} packs are pending, the
+     * oldest one is waited for and written before the next pack is read. If reading a pack fails, the pending ones are still written
+     * before the failure is thrown, so the output is the same of the sequential mode.
      *
-     * @param allItems a pack contained all items that can be chosen
-     * @return the best solution for the given items
-     */
-    private Pack pickItems(Pack allItems) {
-        Collections.sort(allItems.getItems()); // step 1
-        Pack best = new Pack();
-        int size = allItems.getItems().size();
-
-        for (int i = 0; i < size; i++) { // step 2
-            for (int j = 0; j < size; j++) { // step 3
-                Pack current = new Pack();
-                Item matching = allItems.getItems().get(j); // step 4
-                if (!exceedsWeight(allItems.getWeight(), current, matching)) { // step 5
-                    current.addItem(matching);
-                    for (Item item : allItems.getItems().subList(i, size)) { // step 6
-                        if (!item.equals(matching) && !exceedsWeight(allItems.getWeight(), current, item)) { // step 7
-                            current.addItem(item);
-                        }
+     * @param packs  the packs read from the file
+     * @param output where the indexes of the chosen items will be written to
+     * @throws IOException if the output can't be written
+     */
+    private void processConcurrently(Iterator<PackProblem> packs, SolutionWriter output) throws IOException {
+        Deque<CompletableFuture<List<Pack>>> pending = new ArrayDeque<>(maxInFlight);
+        boolean first = true;
+        try {
+            while (true) {
+                boolean read;
+                try {
+                    read = pending.size() < maxInFlight && packs.hasNext();
+                    if (read) {
+                        PackProblem problem = packs.next();
+                        pending.add(CompletableFuture.supplyAsync(() -> solve(problem), executor));
+                    }
+                } catch (RuntimeException e) { // the packs read before the invalid one are written, as in the sequential mode
+                    while (!pending.isEmpty()) {
+                        output.write(pending.poll().join(), first);
+                        first = false;
                     }
+                    throw e;
                 }
-                if (current.compareTo(best) < 0) { // step 8
-                    best = current;
+                if (!read) {
+                    if (pending.isEmpty()) {
+                        break;
+                    }
+                    output.write(pending.poll().join(), first);
+                    first = false;
                 }
             }
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        } finally {
+            pending.forEach(future -> future.cancel(false));
         }
-        best.getItems().sort(Comparator.comparing(Item::getIndex));
-        return best;
     }
 
     /**
-     * Checks if the given {@code item} will not exceed {@code maxWeight} if added to the {@code pack}.
+     * Validates a pack and picks its items.
      *
-     * @param maxWeight the maximum allowed weight for the pack
-     * @param pack      the pack where the item should be added
-     * @param item      the item to be added
-     * @return {@code true} if the sum of the weights of the pack and item exceeds the maximum allowed weight; {@code false} otherwise.
+     * @param problem the compact representation of a pack containing all items that can be chosen
+     * @return the best solution for each of the packs of the problem
      */
-    private boolean exceedsWeight(BigDecimal maxWeight, Pack pack, Item item) {
-        return pack.getWeight().add(item.getWeight()).compareTo(maxWeight) > 0;
+    private List<Pack> solve(PackProblem problem) {
+        validatePack(problem);
+        return pickItems(problem);
+    }
+
+    /**
+     * Writes the indexes of the items of a solution, preceded by a line feed if it is not the first one.
+     *
+     * @param output   where the indexes will be written to
+     * @param solution the solution to be written
+     * @param first    if it is the first solution written
+     * @throws IOException if the output can't be written
+     */
+    private void write(Appendable output, List<Pack> solution, boolean first) throws IOException {
+        if (!first) {
+            output.append('\n');
+        }
+        for (int i = 0; i < solution.size(); i++) {
+            if (i > 0) {
+                output.append(';');
+            }
+            output.append(solution.get(i).toString());
+        }
+    }
+
+    /**
+     * Determines the best subset of items that fit the pack (highest value, without exceeding the maximum weight), delegating to the
+     * configured {@link PackSolver}, or to the {@link MultiPackSolver} for problems with several packs and the multi-dimensional solver for
+     * problems with several dimensions. Only the chosen items are converted back into a {@link Pack}.
+     *
+     * @param problem the compact representation of a pack containing all items that can be chosen
+     * @return the best solution for each of the packs of the problem
+     */
+    private List<Pack> pickItems(PackProblem problem) {
+        long start = PackerMetrics.start();
+        List<Pack> solution;
+        if (problem.packCount() > 1) {
+            solution = problem.toPacks(multiPackSolver.solve(problem));
+        } else {
+            solution = Collections.singletonList(problem.toPack(solverFor(problem).solve(problem)));
+        }
+        PackerMetrics.stop(Stage.SOLVE, start);
+        return solution;
+    }
+
+    /**
+     * Chooses the solver of a problem with a single pack, according to its amount of dimensions.
+     *
+     * @param problem the compact representation of a pack
+     * @return the solver to be used for the problem
+     */
+    private PackSolver solverFor(PackProblem problem) {
+        return problem.dimensions() > 1 ? multiDimensionalSolver : solver;
     }
 
     /**
      * Validates a pack, according to the following rules:
      * <ul>
-     * <li>The pack weight should not exceed {@link #MAX_PACKAGE_WEIGHT}</li>
-     * <li>The item count inside the package should not exceed {@link #MAX_ITEMS_PER_LIST}</li>
-     * <li>No item inside the pack should weight more than {@link #MAX_ITEM_WEIGHT}</li>
+     * <li>The weight of each of the packs should not exceed {@link #MAX_PACKAGE_WEIGHT}</li>
+     * <li>The item count inside the package should not exceed the configured maximum (by default,
+     * {@value #DEFAULT_MAX_ITEMS_PER_LIST})</li>
+     * <li>No item inside the pack should weight more than {@link #MAX_ITEM_WEIGHT}, in any of the dimensions</li>
+     * <li>Several packs can't have more than one dimension</li>
      * <li>No item inside the pack should cost more than {@link #MAX_ITEM_COST}</li>
      * </ul>
      * <p>
      * If any of these rules is violated, the method will throw an {@link com.mobiquityinc.exception.APIException} with an appropriate
      * error message.
      *
-     * @param pack the pack to be validated
+     * @param problem the compact representation of the pack to be validated
      * @throws com.mobiquityinc.exception.APIException if any of the validation constraints is not met
      */
-    private void validatePack(Pack pack) {
-        checkCondition(pack.getWeight().compareTo(MAX_PACKAGE_WEIGHT) <= 0,
-                "The package weight (%s) is larger than the maximum allowed (%s)", pack.getWeight(), MAX_PACKAGE_WEIGHT);
-        checkCondition(pack.getItems().size() <= MAX_ITEMS_PER_LIST,
-                "The amount of items in the list (%s) shouldn't exceed %s", pack.getItems().size(), MAX_ITEMS_PER_LIST);
-        for (Item item : pack.getItems()) {
-            checkCondition(item.getWeight().compareTo(MAX_ITEM_WEIGHT) <= 0,
-                    "The item weight (%s) is larger than the maximum allowed (%s)", item.getWeight(), MAX_ITEM_WEIGHT);
-            checkCondition(item.getCost().compareTo(MAX_ITEM_COST) <= 0,
-                    "The item cost (%s) is larger then the maximum allowed (%s)", item.getCost(), MAX_ITEM_COST);
+    private void validatePack(PackProblem problem) {
+        long start = PackerMetrics.start();
+        for (int capacity : problem.getCapacities()) {
+            checkCondition(capacity <= MAX_PACKAGE_WEIGHT, "The package weight (%s) is larger than the maximum allowed (%s)",
+                    FixedPoint.toString(capacity), FixedPoint.toString(MAX_PACKAGE_WEIGHT));
+        }
+        checkCondition(problem.packCount() == 1 || problem.dimensions() == 1,
+                "Several packs (%s) can't have more than one dimension (%s)", problem.packCount(), problem.dimensions());
+        checkCondition(problem.size() <= maxItemsPerList,
+                "The amount of items in the list (%s) shouldn't exceed %s", problem.size(), maxItemsPerList);
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        int dimensions = problem.dimensions();
+        for (int i = 0; i < problem.size(); i++) {
+            int weight = weights[i * dimensions];
+            for (int k = 1; k < dimensions; k++) {
+                weight = Math.max(weight, weights[i * dimensions + k]);
+            }
+            if (weight > MAX_ITEM_WEIGHT || costs[i] > MAX_ITEM_COST) { // only format the values of invalid items
+                checkCondition(weight <= MAX_ITEM_WEIGHT, "The item weight (%s) is larger than the maximum allowed (%s)",
+                        FixedPoint.toString(weight), FixedPoint.toString(MAX_ITEM_WEIGHT));
+                checkCondition(costs[i] <= MAX_ITEM_COST, "The item cost (%s) is larger then the maximum allowed (%s)",
+                        FixedPoint.toString(costs[i]), FixedPoint.toString(MAX_ITEM_COST));
+            }
         }
+        PackerMetrics.stop(Stage.VALIDATE, start);
+    }
+
+    /**
+     * Destination of the solutions of {@link #process(Stream, SolutionWriter)}, called in input order.
+     */
+    private interface SolutionWriter {
+        void write(List<Pack> solution, boolean first) throws IOException;
     }
 }
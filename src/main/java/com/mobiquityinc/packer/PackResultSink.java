@@ -0,0 +1,238 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
+import com.mobiquityinc.model.Item;
+import com.mobiquityinc.model.Pack;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.Flushable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Destination of the solutions written as text, in the same format of {@link PackProcessor#processFile(String)}: one line per pack,
+ * separated by line feeds, containing the indexes of the chosen items separated by commas (or {@code -} if there is none), and the
+ * solutions of each pack of a line separated by semicolons.
+ * <p>
+ * The digits of the indexes are encoded straight into a reusable buffer of ASCII bytes, which is only written to the underlying output
+ * when it is full or flushed, so no String is created for the indexes, the packs or the lines.
+ * <p>
+ * This class is not safe for concurrent use.
+ */
+public class PackResultSink implements Flushable, Closeable {
+    private static final int BUFFER_SIZE = 8192;
+    private static final int MAX_DIGITS = 11;
+
+    private final OutputStream output;
+    private final boolean closeOutput;
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private int size;
+    private boolean first = true;
+
+    private PackResultSink(OutputStream output, boolean closeOutput) {
+        this.output = output;
+        this.closeOutput = closeOutput;
+    }
+
+    /**
+     * Instantiates a new PackResultSink writing to a file, which is created or truncated, and closed along with the sink.
+     *
+     * @param filePath the path of the file
+     * @return the new sink
+     * @throws APIException if the file can't be opened for writing
+     */
+    public static PackResultSink toFile(String filePath) {
+        try {
+            return new PackResultSink(new FileOutputStream(filePath), true);
+        } catch (FileNotFoundException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Instantiates a new PackResultSink writing to the standard output, which is flushed but not closed along with the sink.
+     *
+     * @return the new sink
+     */
+    public static PackResultSink toStdout() {
+        return toStream(System.out);
+    }
+
+    /**
+     * Instantiates a new PackResultSink writing to the given stream, which is flushed but not closed along with the sink.
+     *
+     * @param output where the solutions will be written to
+     * @return the new sink
+     */
+    public static PackResultSink toStream(OutputStream output) {
+        return new PackResultSink(output, false);
+    }
+
+    /**
+     * Instantiates a new PackResultSink keeping the solutions in memory, where they can be read by {@link #toString()}.
+     *
+     * @return the new sink
+     */
+    public static PackResultSink inMemory() {
+        return new InMemory(new ByteArrayOutputStream());
+    }
+
+    /**
+     * Writes the line of a solution, preceded by a line feed if it is not the first one.
+     *
+     * @param solution the chosen items of each of the packs of a line
+     * @throws APIException if the output can't be written
+     */
+    public void write(List<Pack> solution) {
+        long start = PackerMetrics.start();
+        if (!first) {
+            append('\n');
+        }
+        first = false;
+        for (int i = 0; i < solution.size(); i++) {
+            if (i > 0) {
+                append(';');
+            }
+            append(solution.get(i));
+        }
+        PackerMetrics.stop(Stage.FORMAT, start);
+    }
+
+    /**
+     * Writes the line of the solution of a single pack, preceded by a line feed if it is not the first one.
+     *
+     * @param pack the chosen items of the pack
+     * @throws APIException if the output can't be written
+     */
+    public void write(Pack pack) {
+        long start = PackerMetrics.start();
+        if (!first) {
+            append('\n');
+        }
+        first = false;
+        append(pack);
+        PackerMetrics.stop(Stage.FORMAT, start);
+    }
+
+    /**
+     * Writes the buffered solutions and flushes the underlying output.
+     *
+     * @throws APIException if the output can't be written
+     */
+    @Override
+    public void flush() {
+        try {
+            drain();
+            output.flush();
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+    }
+
+    /**
+     * Writes the buffered solutions and closes the underlying output, unless it is a stream owned by the caller, which is only flushed.
+     *
+     * @throws APIException if the output can't be written or closed
+     */
+    @Override
+    public void close() {
+        flush();
+        if (closeOutput) {
+            try {
+                output.close();
+            } catch (IOException e) {
+                throw new APIException(e);
+            }
+        }
+    }
+
+    /**
+     * Appends the indexes of the items of a pack, separated by commas, or {@code -} if it has none.
+     *
+     * @param pack the pack to be appended
+     */
+    private void append(Pack pack) {
+        List<Item> items = pack.getItems();
+        if (items.isEmpty()) {
+            append('-');
+        }
+        for (int i = 0; i < items.size(); i++) {
+            if (i > 0) {
+                append(',');
+            }
+            append(items.get(i).getIndex());
+        }
+    }
+
+    /**
+     * Appends the decimal digits of an int, writing them backwards from the last one.
+     *
+     * @param value the int to be appended
+     */
+    private void append(int value) {
+        ensureCapacity(MAX_DIGITS);
+        long remaining = Math.abs((long) value);
+        int digits = 1;
+        for (long power = 10; power <= remaining; power *= 10) {
+            digits++;
+        }
+        if (value < 0) {
+            buffer[size++] = '-';
+        }
+        for (int i = size + digits - 1; i >= size; i--) {
+            buffer[i] = (byte) ('0' + remaining % 10);
+            remaining /= 10;
+        }
+        size += digits;
+    }
+
+    private void append(char c) {
+        ensureCapacity(1);
+        buffer[size++] = (byte) c;
+    }
+
+    private void ensureCapacity(int length) {
+        if (size + length > buffer.length) {
+            try {
+                drain();
+            } catch (IOException e) {
+                throw new APIException(e);
+            }
+        }
+    }
+
+    private void drain() throws IOException {
+        output.write(buffer, 0, size);
+        size = 0;
+    }
+
+    /**
+     * A sink writing to a growing array in memory.
+     */
+    private static final class InMemory extends PackResultSink {
+        private final ByteArrayOutputStream bytes;
+
+        private InMemory(ByteArrayOutputStream bytes) {
+            super(bytes, false);
+            this.bytes = bytes;
+        }
+
+        /**
+         * The solutions written so far.
+         *
+         * @return the lines of the solutions, separated by line feeds
+         */
+        @Override
+        public String toString() {
+            flush();
+            return new String(bytes.toByteArray(), StandardCharsets.US_ASCII);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Long-running HTTP server, listening on the loopback interface, that solves the packs sent to it. It keeps a single
+ * {@link PackProcessor} warm across all the requests, avoiding the JVM startup and cold JIT costs of running {@link Packer#main(String[])}
+ * for each input.
+ * <p>
+ * Each {@code POST} request to {@value #PATH} must have one or more lines as its body, in the same format of the input files, blank lines
+ * being ignored. The response contains one line for each pack, with the chosen items' indexes. Invalid packs result into a
+ * {@code 400 Bad Request} response, containing the error message. Requests are handled by a bounded pool of worker threads.
+ */
+public class PackServer {
+    /**
+     * The path of the endpoint solving the packs
+     */
+    public static final String PATH = "/pack";
+
+    private static final Logger LOGGER = Logger.getLogger(PackServer.class.getName());
+    private static final String CONTENT_TYPE = "text/plain; charset=utf-8";
+
+    private final PackProcessor processor;
+    private final HttpServer server;
+    private final ExecutorService workers;
+
+    /**
+     * Instantiates a new PackServer, binding it to the given port of the loopback interface. The server only accepts requests after
+     * being {@link #start() started}.
+     *
+     * @param processor the processor used to solve all the packs
+     * @param port      the port to listen to, or {@code 0} to use any free port
+     * @param threads   the amount of worker threads handling the requests
+     * @throws APIException if the server can't be bound to the port
+     */
+    public PackServer(PackProcessor processor, int port, int threads) {
+        this.processor = processor;
+        try {
+            this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        } catch (IOException e) {
+            throw new APIException(e);
+        }
+        this.workers = Executors.newFixedThreadPool(threads);
+        server.setExecutor(workers);
+        server.createContext(PATH, this::handle);
+    }
+
+    /**
+     * Starts accepting requests, on background threads.
+     */
+    public void start() {
+        server.start();
+        LOGGER.log(Level.INFO, "Listening on port {0}", String.valueOf(getPort())); // no digit grouping
+    }
+
+    /**
+     * Stops accepting requests, waiting up to {@code delay} seconds for the ones being handled to finish.
+     *
+     * @param delay the maximum time to wait, in seconds
+     */
+    public void stop(int delay) {
+        server.stop(delay);
+        workers.shutdown();
+    }
+
+    /**
+     * The port the server is listening to, useful when it was created with port {@code 0}.
+     *
+     * @return the port of the server
+     */
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Handles a single request, solving all the packs of its body before sending the response, so errors can still change its status:
+     * invalid packs result into a bad request, and any other failure into an internal server error.
+     *
+     * @param exchange the request and response
+     * @throws IOException if the request can't be read or the response can't be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, "Only POST requests are accepted");
+                return;
+            }
+            StringBuilder result = new StringBuilder();
+            try (BufferedReader body = new BufferedReader(new InputStreamReader(exchange.getRequestBody(), StandardCharsets.UTF_8))) {
+                processor.processLines(body.lines().filter(line -> !line.trim().isEmpty()), result);
+            } catch (APIException e) {
+                respond(exchange, 400, e.getMessage());
+                return;
+            } catch (RuntimeException e) {
+                LOGGER.log(Level.SEVERE, "Could not process the request", e);
+                respond(exchange, 500, "Could not process the request");
+                return;
+            }
+            if (result.length() > 0) {
+                result.append('\n');
+            }
+            respond(exchange, 200, result.toString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+        exchange.sendResponseHeaders(status, bytes.length == 0 ? -1 : bytes.length); // zero would mean a chunked response
+        try (OutputStream output = exchange.getResponseBody()) {
+            output.write(bytes);
+        }
+    }
+}
@@ -1,7 +1,12 @@
 package com.mobiquityinc.packer;
 
 import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackResult;
 
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -12,6 +17,8 @@ import java.util.logging.Logger;
 public class Packer {
     private static final Logger LOGGER = Logger.getLogger(Packer.class.getName());
     private static final PackProcessor PACK_PROCESSOR = new PackProcessor();
+    private static final String SERVE_OPTION = "--serve";
+    private static final int DEFAULT_PORT = 8080;
 
     /**
      * Private empty constructor to avoid instantiation
@@ -25,6 +32,11 @@ public class Packer {
      * It will receive an array of arguments from the user for the application execution. Uses the first item from the arguments as the
      * file path tpo be parsed into packs. If the arguments have more than one item, the remaining ones will be ignored; if it doesn't
      * contain any items, it will throw an {@link APIException}.
+     * The resolutions are written to the standard output through a {@link PackResultSink}, which is closed (flushing all the lines
+     * solved so far) when the file ends or any of its packs is not valid.
+     * <p>
+     * Alternatively, {@code --serve [port]} starts a {@link PackServer} on the given port (by default, {@value #DEFAULT_PORT}), with one
+     * worker thread per available processor, which keeps running until the JVM is terminated.
      *
      * @param args the program arguments passed by the user
      * @throws APIException if the user does not specify any argument
@@ -32,9 +44,16 @@ public class Packer {
     public static void main(String[] args) {
         if (args.length == 0) {
             LOGGER.log(Level.SEVERE, "You must provide a file path");
-        } else {
+        } else if (SERVE_OPTION.equals(args[0])) {
             try {
-                LOGGER.log(Level.INFO, pack(args[0]));
+                int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+                new PackServer(PACK_PROCESSOR, port, Runtime.getRuntime().availableProcessors()).start();
+            } catch (NumberFormatException | APIException e) {
+                LOGGER.log(Level.SEVERE, e.getMessage(), e);
+            }
+        } else {
+            try (PackResultSink output = PackResultSink.toStdout()) {
+                pack(args[0], output);
             } catch (APIException e) {
                 LOGGER.log(Level.SEVERE, e.getMessage(), e);
             }
@@ -51,4 +70,76 @@ public class Packer {
     public static String pack(String filePath) {
         return PACK_PROCESSOR.processFile(filePath);
     }
+
+    /**
+     * Accepts a file path as string and writes one line for each pack to {@code output}, each line containing the selected item's
+     * indexes for that pack. The file is processed line by line, so its size doesn't affect the memory usage.
+     *
+     * @param filePath the file path for the input file
+     * @param output   where the resolutions for each of the packs will be written to
+     */
+    public static void pack(String filePath, Appendable output) {
+        PACK_PROCESSOR.processFile(filePath, output);
+    }
+
+    /**
+     * Accepts a file path as string and writes one line for each pack to a {@link PackResultSink}, such as the standard output, a file or
+     * a buffer in memory, without formatting any String. The sink is flushed when all the packs are written.
+     *
+     * @param filePath the file path for the input file
+     * @param output   where the resolutions for each of the packs will be written to
+     */
+    public static void pack(String filePath, PackResultSink output) {
+        PACK_PROCESSOR.processFile(filePath, output);
+    }
+
+    /**
+     * Accepts packs already in memory and returns, for each of them, the chosen items, their total cost and weight, and the time spent
+     * solving it. No file is read and no String is formatted.
+     *
+     * @param packs the packs containing all items that can be chosen
+     * @return the results for each of the packs, in the same order
+     */
+    public static List<PackResult> pack(List<Pack> packs) {
+        return PACK_PROCESSOR.solveAll(packs);
+    }
+
+    /**
+     * Accepts a pack already in memory and returns its {@code k} best alternatives, from the best to the worst, each with its chosen
+     * items, their total cost and weight.
+     *
+     * @param pack the pack containing all items that can be chosen
+     * @param k    the maximum amount of alternatives
+     * @return the results for each alternative
+     * @see PackProcessor#solveTopK(Pack, int)
+     */
+    public static List<PackResult> pack(Pack pack, int k) {
+        return PACK_PROCESSOR.solveTopK(pack, k);
+    }
+
+    /**
+     * Asynchronously solves a pack already in memory, bounding the time spent on it: when the {@code timeout} is over, the best solution
+     * found so far is returned. Cancelling the returned future stops the work early.
+     *
+     * @param pack    the pack containing all items that can be chosen
+     * @param timeout the maximum time to be spent until the pack is solved
+     * @return the future result of the pack
+     * @see PackProcessor#solveAsync(Pack, Duration)
+     */
+    public static CompletableFuture<PackResult> packAsync(Pack pack, Duration timeout) {
+        return PACK_PROCESSOR.solveAsync(pack, timeout);
+    }
+
+    /**
+     * Asynchronously solves packs already in memory, bounding the time spent on all of them: when the {@code timeout} is over, the best
+     * solutions found so far are returned. Cancelling the returned future stops the work early.
+     *
+     * @param packs   the packs containing all items that can be chosen
+     * @param timeout the maximum time to be spent until all the packs are solved
+     * @return the future results for each of the packs, in the same order
+     * @see PackProcessor#solveAllAsync(List, Duration)
+     */
+    public static CompletableFuture<List<PackResult>> packAsync(List<Pack> packs, Duration timeout) {
+        return PACK_PROCESSOR.solveAllAsync(packs, timeout);
+    }
 }
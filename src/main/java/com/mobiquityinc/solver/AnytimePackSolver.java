@@ -0,0 +1,26 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+import java.util.function.BooleanSupplier;
+
+/**
+ * A {@link PackSolver} that can be stopped before finishing, returning the best solution found until then. It allows bounding the time
+ * spent on each pack, trading the optimality of the solution for latency.
+ */
+public interface AnytimePackSolver extends PackSolver {
+    /**
+     * Determines the best subset of items that fit in the given pack, periodically checking whether the search should be stopped.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @param stop    checked during the search, stopping it as soon as it returns {@code true}
+     * @return the positions of the chosen items, in the best solution found before stopping
+     */
+    BitSet solve(PackProblem problem, BooleanSupplier stop);
+
+    @Override
+    default BitSet solve(PackProblem problem) {
+        return solve(problem, () -> false);
+    }
+}
@@ -0,0 +1,142 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver for the <a href='https://en.wikipedia.org/wiki/Knapsack_problem#Multiple_knapsack_problem'>multiple knapsack</a>
+ * problem, based on a depth-first branch and bound that decides the pack of all the items in a single search, instead of solving each
+ * pack in turn.
+ * <p>
+ * The items are sorted by highest cost/weight ratio, and every node of the search tree either puts an item into one of the packs with
+ * room for it, or leaves it out. A node is pruned when the surrogate relaxation bound, the fractional knapsack of the remaining items
+ * into a single pack with the remaining capacity of all the packs, can't beat the best distribution found so far. Packs with the same
+ * remaining capacity are interchangeable for the remaining items, so only the first one of them is tried.
+ */
+public class BranchAndBoundMultiPackSolver implements MultiPackSolver {
+    @Override
+    public int[] solve(PackProblem problem) {
+        Search search = new Search(problem);
+        search.branch(0, 0, 0);
+        return search.solution();
+    }
+
+    /**
+     * The state of the search for a single problem, with the items copied in ratio order.
+     */
+    private static final class Search {
+        private final int[] order;
+        private final int[] weights;
+        private final int[] costs;
+        private final long[] remaining;
+        private long totalRemaining;
+        private final int[] current;
+        private final int[] best;
+        private long bestCost = -1;
+        private long bestWeight;
+
+        private Search(PackProblem problem) {
+            order = ItemOrder.byRatio(problem);
+            weights = new int[order.length];
+            costs = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                weights[i] = problem.getWeights()[order[i]];
+                costs[i] = problem.getCosts()[order[i]];
+            }
+            remaining = new long[problem.packCount()];
+            for (int pack = 0; pack < remaining.length; pack++) {
+                remaining[pack] = Math.max(problem.getCapacities()[pack], 0);
+                totalRemaining += remaining[pack];
+            }
+            current = new int[order.length];
+            best = new int[order.length];
+            Arrays.fill(current, -1);
+        }
+
+        /**
+         * Visits a node of the search tree, where the items before {@code depth} were already decided.
+         *
+         * @param depth  the position of the item to be decided
+         * @param weight the weight of the items already put into any of the packs
+         * @param cost   the cost of the items already put into any of the packs
+         */
+        private void branch(int depth, long weight, long cost) {
+            if (cost > bestCost || cost == bestCost && weight < bestWeight) {
+                bestCost = cost;
+                bestWeight = weight;
+                System.arraycopy(current, 0, best, 0, current.length);
+            }
+            if (depth == order.length) {
+                return;
+            }
+            long bound = bound(depth, cost);
+            if (bound < bestCost || bound == bestCost && weight >= bestWeight) {
+                return;
+            }
+            for (int pack = 0; pack < remaining.length; pack++) {
+                if (remaining[pack] >= weights[depth] && isFirstWithRemaining(pack)) {
+                    remaining[pack] -= weights[depth];
+                    totalRemaining -= weights[depth];
+                    current[depth] = pack;
+                    branch(depth + 1, weight + weights[depth], cost + costs[depth]);
+                    current[depth] = -1;
+                    remaining[pack] += weights[depth];
+                    totalRemaining += weights[depth];
+                }
+            }
+            branch(depth + 1, weight, cost);
+        }
+
+        private boolean isFirstWithRemaining(int pack) {
+            for (int other = 0; other < pack; other++) {
+                if (remaining[other] == remaining[pack]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Calculates the optimal value of the fractional knapsack for the undecided items, into a single pack with the remaining capacity
+         * of all the packs. Items heavier than the largest remaining capacity can't go into any pack, so they are skipped.
+         *
+         * @param depth the position of the first undecided item
+         * @param cost  the cost of the items already put into any of the packs
+         * @return the upper bound of the cost of any distribution under the node
+         */
+        private long bound(int depth, long cost) {
+            long largest = 0;
+            for (long capacity : remaining) {
+                largest = Math.max(largest, capacity);
+            }
+            long capacity = totalRemaining;
+            long bound = cost;
+            for (int i = depth; i < order.length; i++) {
+                if (weights[i] > largest) {
+                    continue;
+                }
+                if (weights[i] <= capacity) {
+                    capacity -= weights[i];
+                    bound += costs[i];
+                } else {
+                    return bound + costs[i] * capacity / weights[i];
+                }
+            }
+            return bound;
+        }
+
+        /**
+         * Maps the best distribution found back to the original positions of the items.
+         *
+         * @return the pack of each item, by position, or {@code -1} for the items left out
+         */
+        private int[] solution() {
+            int[] assignment = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                assignment[order[i]] = best[i];
+            }
+            return assignment;
+        }
+    }
+}
@@ -0,0 +1,213 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BooleanSupplier;
+
+/**
+ * Exact solver based on a depth-first <a href='https://en.wikipedia.org/wiki/Branch_and_bound'>branch and bound</a>, whose cost doesn't
+ * depend on the pack's capacity, making it suitable for large item counts with large capacities.
+ * <p>
+ * The items are sorted by highest cost/weight ratio, and every node of the search tree decides whether an item is included or not,
+ * trying to include it first. A node is pruned when the bound given by the LP relaxation of the remaining items (the fractional
+ * knapsack) can't beat the best solution found so far. The amount of nodes explored and pruned by each search can be collected into a
+ * {@link Statistics}, showing how much of the search space the problem costs, and is also accumulated across all the solved problems.
+ * <p>
+ * Since the first branch followed by the search is the greedy solution, and every node visited afterwards is a valid solution, the search
+ * can be stopped at any time, returning the best solution found so far.
+ */
+public class BranchAndBoundPackSolver implements AnytimePackSolver {
+    private static final int STOP_CHECK_INTERVAL = 1024;
+
+    private final AtomicLong nodesExplored = new AtomicLong();
+    private final AtomicLong nodesPruned = new AtomicLong();
+
+    @Override
+    public BitSet solve(PackProblem problem, BooleanSupplier stop) {
+        return solve(problem, stop, new Statistics());
+    }
+
+    /**
+     * Version of {@link #solve(PackProblem, BooleanSupplier)} that also adds the nodes explored and pruned by this search to the given
+     * statistics, which aren't affected by other calls.
+     *
+     * @param problem    the compact representation of the pack, containing all the items that can be chosen
+     * @param stop       checked during the search, stopping it as soon as it returns {@code true}
+     * @param statistics where the amount of nodes explored and pruned by this search will be added
+     * @return the positions of the chosen items, in the best solution found before stopping
+     */
+    public BitSet solve(PackProblem problem, BooleanSupplier stop, Statistics statistics) {
+        Search search = new Search(problem, stop);
+        search.branch(0, 0, 0);
+        statistics.nodesExplored += search.explored;
+        statistics.nodesPruned += search.pruned;
+        nodesExplored.addAndGet(search.explored);
+        nodesPruned.addAndGet(search.pruned);
+        return search.solution();
+    }
+
+    /**
+     * The amount of nodes of the search tree visited since the solver was created or its statistics were reset.
+     *
+     * @return the amount of nodes explored
+     */
+    public long getNodesExplored() {
+        return nodesExplored.get();
+    }
+
+    /**
+     * The amount of nodes of the search tree discarded by the bound since the solver was created or its statistics were reset. The
+     * subtrees under those nodes were not explored.
+     *
+     * @return the amount of nodes pruned
+     */
+    public long getNodesPruned() {
+        return nodesPruned.get();
+    }
+
+    /**
+     * Resets the amount of nodes explored and pruned.
+     */
+    public void resetStatistics() {
+        nodesExplored.set(0);
+        nodesPruned.set(0);
+    }
+
+    /**
+     * The amount of nodes explored and pruned by the searches it was given to, usually a single one. This class is not safe for
+     * concurrent use.
+     */
+    public static final class Statistics {
+        private long nodesExplored;
+        private long nodesPruned;
+
+        /**
+         * The amount of nodes of the search tree visited.
+         *
+         * @return the amount of nodes explored
+         */
+        public long getNodesExplored() {
+            return nodesExplored;
+        }
+
+        /**
+         * The amount of nodes of the search tree discarded by the bound. The subtrees under those nodes were not explored.
+         *
+         * @return the amount of nodes pruned
+         */
+        public long getNodesPruned() {
+            return nodesPruned;
+        }
+    }
+
+    /**
+     * The state of the search for a single problem, with the items copied in ratio order.
+     */
+    private static final class Search {
+        private final int[] order;
+        private final int[] weights;
+        private final int[] costs;
+        private final long capacity;
+        private final boolean[] current;
+        private final boolean[] best;
+        private final BooleanSupplier stop;
+        private boolean stopped;
+        private long bestCost = -1;
+        private long bestWeight;
+        private long explored;
+        private long pruned;
+
+        private Search(PackProblem problem, BooleanSupplier stop) {
+            this.stop = stop;
+            order = ItemOrder.byRatio(problem);
+            weights = new int[order.length];
+            costs = new int[order.length];
+            for (int i = 0; i < order.length; i++) {
+                weights[i] = problem.getWeights()[order[i]];
+                costs[i] = problem.getCosts()[order[i]];
+            }
+            capacity = problem.getCapacity();
+            current = new boolean[order.length];
+            best = new boolean[order.length];
+        }
+
+        /**
+         * Visits a node of the search tree, where the items before {@code depth} were already decided. Every
+         * {@value BranchAndBoundPackSolver#STOP_CHECK_INTERVAL} nodes, the search checks whether it should stop, unwinding without
+         * visiting any other node.
+         *
+         * @param depth  the position of the item to be decided
+         * @param weight the weight of the items already included
+         * @param cost   the cost of the items already included
+         */
+        private void branch(int depth, long weight, long cost) {
+            if (stopped) {
+                return;
+            }
+            explored++;
+            if (cost > bestCost || cost == bestCost && weight < bestWeight) {
+                bestCost = cost;
+                bestWeight = weight;
+                System.arraycopy(current, 0, best, 0, current.length);
+            }
+            if (explored % STOP_CHECK_INTERVAL == 0 && (stopped = stop.getAsBoolean())) {
+                return;
+            }
+            if (depth == order.length) {
+                return;
+            }
+            long bound = bound(depth, weight, cost);
+            if (bound < bestCost || bound == bestCost && weight >= bestWeight) {
+                pruned++;
+                return;
+            }
+            if (weight + weights[depth] <= capacity) {
+                current[depth] = true;
+                branch(depth + 1, weight + weights[depth], cost + costs[depth]);
+                current[depth] = false;
+            }
+            branch(depth + 1, weight, cost);
+        }
+
+        /**
+         * Calculates the optimal value of the fractional knapsack for the undecided items: they are included by ratio order while they
+         * fit, and then a fraction of the first one that doesn't fit fills the remaining capacity. Since costs are integers, no solution
+         * under the node can cost more than the integer part of this value.
+         *
+         * @param depth  the position of the first undecided item
+         * @param weight the weight of the items already included
+         * @param cost   the cost of the items already included
+         * @return the upper bound of the cost of any solution under the node
+         */
+        private long bound(int depth, long weight, long cost) {
+            long remaining = capacity - weight;
+            long bound = cost;
+            for (int i = depth; i < order.length; i++) {
+                if (weights[i] <= remaining) {
+                    remaining -= weights[i];
+                    bound += costs[i];
+                } else {
+                    return bound + costs[i] * remaining / weights[i];
+                }
+            }
+            return bound;
+        }
+
+        /**
+         * Maps the best solution found back to the original positions of the items.
+         *
+         * @return the positions of the chosen items
+         */
+        private BitSet solution() {
+            BitSet chosen = new BitSet(order.length);
+            for (int i = 0; i < order.length; i++) {
+                if (best[i]) {
+                    chosen.set(order[i]);
+                }
+            }
+            return chosen;
+        }
+    }
+}
@@ -0,0 +1,166 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator keeping the solutions of another {@link PackSolver} in a bounded, least recently used cache, so repeated packs are served
+ * without being solved again.
+ * <p>
+ * Packs are identified by a canonical encoding of their capacity and the weights and costs of their items, regardless of the order or
+ * indexes of the items. The cached solution is mapped back onto the positions of the items of each caller, items with the same weight
+ * and cost being interchangeable. The amount of hits, misses and evictions is accumulated since the cache was created.
+ * <p>
+ * This class is safe for concurrent use, as long as the decorated solver is.
+ */
+public class CachingPackSolver implements PackSolver {
+    private final PackSolver solver;
+    private final Map<Key, BitSet> cache;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    /**
+     * Instantiates a new CachingPackSolver, in front of the given {@code solver}.
+     *
+     * @param solver  the solver of the packs not found in the cache
+     * @param maxSize the maximum amount of solutions kept in the cache
+     */
+    public CachingPackSolver(PackSolver solver, int maxSize) {
+        this.solver = solver;
+        this.cache = new LinkedHashMap<Key, BitSet>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Key, BitSet> eldest) {
+                boolean evict = size() > maxSize;
+                if (evict) {
+                    evictions.incrementAndGet();
+                }
+                return evict;
+            }
+        };
+    }
+
+    /**
+     * Looks for the canonical form of the problem in the cache, solving it with the decorated solver in case of a miss.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the positions of the chosen items, in the given problem
+     */
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int[] order = ItemOrder.byWeightAndCost(problem);
+        Key key = new Key(problem, order);
+
+        BitSet canonicalSolution;
+        synchronized (cache) {
+            canonicalSolution = cache.get(key);
+        }
+        if (canonicalSolution != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            canonicalSolution = solver.solve(canonical(problem, order));
+            synchronized (cache) {
+                cache.put(key, canonicalSolution);
+            }
+        }
+
+        BitSet chosen = new BitSet(order.length);
+        canonicalSolution.stream().forEach(i -> chosen.set(order[i]));
+        return chosen;
+    }
+
+    @Override
+    public long upperBound(PackProblem problem, long cost) {
+        return solver.upperBound(problem, cost);
+    }
+
+    /**
+     * The amount of packs served from the cache.
+     *
+     * @return the amount of hits
+     */
+    public long getHits() {
+        return hits.get();
+    }
+
+    /**
+     * The amount of packs not found in the cache, which were solved by the decorated solver.
+     *
+     * @return the amount of misses
+     */
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * The amount of solutions removed from the cache to keep it within its maximum size.
+     *
+     * @return the amount of evictions
+     */
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    /**
+     * The amount of solutions currently kept in the cache.
+     *
+     * @return the size of the cache
+     */
+    public int size() {
+        synchronized (cache) {
+            return cache.size();
+        }
+    }
+
+    /**
+     * Creates the canonical form of a problem, with the items in the given order.
+     *
+     * @param problem the problem to be reordered
+     * @param order   the canonical order of the positions of the items
+     * @return the canonical problem
+     */
+    private static PackProblem canonical(PackProblem problem, int[] order) {
+        int[] indices = new int[order.length];
+        int[] weights = new int[order.length];
+        int[] costs = new int[order.length];
+        for (int i = 0; i < order.length; i++) {
+            indices[i] = problem.getIndices()[order[i]];
+            weights[i] = problem.getWeights()[order[i]];
+            costs[i] = problem.getCosts()[order[i]];
+        }
+        return new PackProblem(problem.getCapacity(), indices, weights, costs);
+    }
+
+    /**
+     * The canonical encoding of a problem: its capacity, followed by the weight and cost of each item, in canonical order.
+     */
+    private static final class Key {
+        private final long[] values;
+        private final int hash;
+
+        private Key(PackProblem problem, int[] order) {
+            values = new long[order.length + 1];
+            values[0] = problem.getCapacity();
+            for (int i = 0; i < order.length; i++) {
+                values[i + 1] = (long) problem.getWeights()[order[i]] << Integer.SIZE | problem.getCosts()[order[i]] & 0xFFFFFFFFL;
+            }
+            hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Key && Arrays.equals(values, ((Key) o).values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * Exact solver, implemented as the classic <a href='https://en.wikipedia.org/wiki/Knapsack_problem#0-1_knapsack_problem'>0/1
+ * knapsack</a> dynamic programming over the pack's capacity.
+ * <p>
+ * Since weights have at most two decimal places, they are handled as integer hundredths, resulting in a table of
+ * {@code items * (capacity * 100 + 1)} cells. In case of more than one combination having the same total cost, the one with the lowest
+ * weight is chosen.
+ * <p>
+ * The table is kept in a per-thread {@link Workspace}, grown to the largest pack seen by each thread and reused by all the following
+ * ones, so solving many packs in a row doesn't allocate a new table for each of them.
+ */
+public class DynamicProgrammingPackSolver implements PackSolver {
+    private final ThreadLocal<Workspace> workspaces = ThreadLocal.withInitial(Workspace::new);
+
+    /**
+     * Fills the table where each cell {@code best[w]} holds the highest cost achievable with a total weight of at most {@code w}, keeping
+     * track of which items improved each cell. The lowest weight reaching the highest cost is then used as the starting point to walk the
+     * kept items backwards, rebuilding the solution.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the positions of the items in the optimal solution
+     */
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int size = problem.size();
+        int capacity = Math.max(problem.getCapacity(), 0);
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+
+        Workspace workspace = workspaces.get();
+        workspace.prepare(size, capacity);
+        int[] best = workspace.best;
+        long[] kept = workspace.kept;
+        for (int i = 0; i < size; i++) {
+            long row = (long) i * (capacity + 1);
+            for (int w = capacity; w >= weights[i]; w--) {
+                int candidate = best[w - weights[i]] + costs[i];
+                if (candidate > best[w]) {
+                    best[w] = candidate;
+                    long cell = row + w;
+                    kept[(int) (cell >>> 6)] |= 1L << cell;
+                }
+            }
+        }
+
+        int w = 0;
+        while (best[w] < best[capacity]) {
+            w++;
+        }
+
+        BitSet chosen = new BitSet(size);
+        for (int i = size - 1; i >= 0; i--) {
+            long cell = (long) i * (capacity + 1) + w;
+            if ((kept[(int) (cell >>> 6)] & 1L << cell) != 0) {
+                chosen.set(i);
+                w -= weights[i];
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * The reusable table of a single thread: the best cost for each weight, and the cells improved by each item, packed as bits.
+     */
+    private static final class Workspace {
+        private int[] best = new int[0];
+        private long[] kept = new long[0];
+
+        /**
+         * Clears the parts of the table used by a pack, growing it first if the pack is larger than all the previous ones.
+         *
+         * @param size     the amount of items of the pack
+         * @param capacity the capacity of the pack
+         */
+        private void prepare(int size, int capacity) {
+            if (best.length < capacity + 1) {
+                best = new int[capacity + 1];
+            } else {
+                Arrays.fill(best, 0, capacity + 1, 0);
+            }
+            int words = (int) (((long) size * (capacity + 1) + Long.SIZE - 1) >>> 6);
+            if (kept.length < words) {
+                kept = new long[words];
+            } else {
+                Arrays.fill(kept, 0, words, 0L);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
+
+/**
+ * Approximate solver, implemented as the
+ * <a href='https://en.wikipedia.org/wiki/Knapsack_problem#Fully_polynomial_time_approximation_scheme'>fully polynomial time
+ * approximation scheme</a> for the 0/1 knapsack, for capacities too large for the {@link DynamicProgrammingPackSolver}.
+ * <p>
+ * The costs of the items are divided by {@code epsilon * maxCost / items} and rounded down, and a dynamic programming over the scaled
+ * costs finds the lowest weight achieving each of them. The table has at most {@code items^2 / epsilon} cells, regardless of the
+ * capacity, and the chosen items are guaranteed to cost at least {@code (1 - epsilon)} times the optimum.
+ */
+public class FptasPackSolver implements PackSolver {
+    private final double epsilon;
+
+    /**
+     * Instantiates a new FptasPackSolver, with the given accuracy.
+     *
+     * @param epsilon the maximum relative distance from the optimum, greater than 0 and less than 1
+     */
+    public FptasPackSolver(double epsilon) {
+        checkCondition(epsilon > 0 && epsilon < 1, "The epsilon (%s) should be greater than 0 and less than 1", epsilon);
+        this.epsilon = epsilon;
+    }
+
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int size = problem.size();
+        long capacity = problem.getCapacity();
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+
+        int maxCost = 0;
+        for (int i = 0; i < size; i++) {
+            if (weights[i] <= capacity) {
+                maxCost = Math.max(maxCost, costs[i]);
+            }
+        }
+        BitSet chosen = new BitSet(size);
+        if (maxCost == 0) {
+            return chosen;
+        }
+
+        double scale = Math.max(epsilon * maxCost / size, 1);
+        int[] scaled = new int[size];
+        int total = 0;
+        for (int i = 0; i < size; i++) {
+            scaled[i] = weights[i] <= capacity ? (int) (costs[i] / scale) : 0;
+            total += scaled[i];
+        }
+
+        long[] lightest = new long[total + 1];
+        Arrays.fill(lightest, 1, total + 1, Long.MAX_VALUE);
+        long[] kept = new long[(int) (((long) size * (total + 1) + Long.SIZE - 1) >>> 6)];
+        for (int i = 0; i < size; i++) {
+            if (scaled[i] == 0) {
+                continue;
+            }
+            long row = (long) i * (total + 1);
+            for (int p = total; p >= scaled[i]; p--) {
+                long previous = lightest[p - scaled[i]];
+                if (previous != Long.MAX_VALUE && previous + weights[i] <= capacity && previous + weights[i] < lightest[p]) {
+                    lightest[p] = previous + weights[i];
+                    long cell = row + p;
+                    kept[(int) (cell >>> 6)] |= 1L << cell;
+                }
+            }
+        }
+
+        int p = total;
+        while (lightest[p] == Long.MAX_VALUE) {
+            p--;
+        }
+        for (int i = size - 1; i >= 0; i--) {
+            long cell = (long) i * (total + 1) + p;
+            if ((kept[(int) (cell >>> 6)] & 1L << cell) != 0) {
+                chosen.set(i);
+                p -= scaled[i];
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * The optimum can't cost more than the found solution divided by {@code (1 - epsilon)}, nor more than the LP relaxation of the
+     * problem (the fractional knapsack), so the lowest of them is returned.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @param cost    the total cost of the solution found for the problem, in hundredths
+     * @return the upper bound of the optimal cost, in hundredths
+     */
+    @Override
+    public long upperBound(PackProblem problem, long cost) {
+        return Math.max(cost, Math.min(Relaxation.of(problem), (long) Math.floor(cost / (1 - epsilon))));
+    }
+}
@@ -0,0 +1,80 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+
+import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
+
+/**
+ * Exact solver enumerating every subset of the items in <a href='https://en.wikipedia.org/wiki/Gray_code'>Gray code</a> order, so
+ * consecutive subsets differ by a single item and the running weight and cost are updated with a single addition or subtraction.
+ * <p>
+ * The enumeration works only over primitive values, without any allocation, which makes it the fastest exact option for the default
+ * limit of 15 items (32768 subsets). Since the amount of subsets doubles with each item, at most {@link #MAX_ITEMS} items are supported;
+ * items heavier than the pack itself are discarded before the enumeration, and don't count towards the limit.
+ */
+public class GrayCodePackSolver implements PackSolver {
+    /**
+     * The maximum amount of items, fitting the pack by themselves, supported by the solver
+     */
+    public static final int MAX_ITEMS = 30;
+
+    /**
+     * Walks all the subsets of the items fitting the pack, flipping the item at the position of the lowest set bit of the step counter,
+     * and keeps the mask of the best fitting one (highest cost, then lowest weight).
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the positions of the items in the optimal solution
+     */
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int capacity = problem.getCapacity();
+        int[] positions = new int[problem.size()];
+        int size = 0;
+        for (int i = 0; i < problem.size(); i++) {
+            if (problem.getWeights()[i] <= capacity) {
+                positions[size++] = i;
+            }
+        }
+        checkCondition(size <= MAX_ITEMS, "The amount of items in the list (%s) shouldn't exceed %s", size, MAX_ITEMS);
+
+        int[] weights = new int[size];
+        int[] costs = new int[size];
+        for (int i = 0; i < size; i++) {
+            weights[i] = problem.getWeights()[positions[i]];
+            costs[i] = problem.getCosts()[positions[i]];
+        }
+
+        int mask = 0;
+        long weight = 0;
+        long cost = 0;
+        int bestMask = 0;
+        long bestWeight = 0;
+        long bestCost = 0;
+        for (int step = 1; step < 1 << size; step++) {
+            int item = Integer.numberOfTrailingZeros(step);
+            mask ^= 1 << item;
+            if ((mask & 1 << item) != 0) {
+                weight += weights[item];
+                cost += costs[item];
+            } else {
+                weight -= weights[item];
+                cost -= costs[item];
+            }
+            if (weight <= capacity && (cost > bestCost || cost == bestCost && weight < bestWeight)) {
+                bestMask = mask;
+                bestWeight = weight;
+                bestCost = cost;
+            }
+        }
+
+        BitSet chosen = new BitSet(problem.size());
+        for (int i = 0; i < size; i++) {
+            if ((bestMask & 1 << i) != 0) {
+                chosen.set(positions[i]);
+            }
+        }
+        return chosen;
+    }
+}
@@ -0,0 +1,136 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+
+/**
+ * The original item picking algorithm, matching every item against the remaining ones. It is fast for small lists, but is not
+ * guaranteed to find the optimal solution.
+ */
+public class HeuristicPackSolver implements PackSolver {
+    /**
+     * This method will generate all the different possible combinations of items that don't exceed the maximum weight and return the
+     * best one (highest value, without exceeding the maximum weight).
+     * <p>
+     * It is a slightly modified implementation of a <a href='https://en.wikipedia.org/wiki/Power_set'>power set</a>, tweaked
+     * to be more performatic by eliminating the combinations that don't fit the weight constraints. Each combination is tracked only by
+     * its running weight and cost, and the best one is rebuilt from its loop positions at the end.
+     * <p>
+     * Steps:
+     * <ul>
+     * <li>1. Sorts all the items that can be chosen, by highest cost/lowest weight;</li>
+     * <li>2. Outer loop, for controlling the items that were already matched with the others;</li>
+     * <li>3. Inner loop, for getting the item that will be actually matched against the others;</li>
+     * <li>4. Determine what item is the one to be matched with the remaining ones;</li>
+     * <li>5. If the item being matched exceeds the weight by itself, there's no point in checking its combinations;</li>
+     * <li>6. The actual matcher loop, that will try the remaining possible combinations for the item;</li>
+     * <li>7. The check to determine the item from the loop is not the same being matched and if its addition won't exceed the maximum
+     * weight;</li>
+     * <li>8. Store the position of the most recent combination, if it is better than the other generated by previous iterations.</li>
+     * </ul>
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the best solution for the given items
+     */
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int[] order = sortedPositions(problem); // step 1
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        int capacity = problem.getCapacity();
+        int size = order.length;
+        int bestI = -1;
+        int bestJ = -1;
+        long bestCost = 0;
+        long bestWeight = 0;
+
+        for (int i = 0; i < size; i++) { // step 2
+            for (int j = 0; j < size; j++) { // step 3
+                long currentCost = 0;
+                long currentWeight = 0;
+                int matching = order[j]; // step 4
+                if (weights[matching] <= capacity) { // step 5
+                    currentCost = costs[matching];
+                    currentWeight = weights[matching];
+                    for (int k = i; k < size; k++) { // step 6
+                        int item = order[k];
+                        if (k != j && currentWeight + weights[item] <= capacity) { // step 7
+                            currentCost += costs[item];
+                            currentWeight += weights[item];
+                        }
+                    }
+                }
+                if (currentCost > bestCost || currentCost == bestCost && currentWeight < bestWeight) { // step 8
+                    bestI = i;
+                    bestJ = j;
+                    bestCost = currentCost;
+                    bestWeight = currentWeight;
+                }
+            }
+        }
+        return rebuild(order, weights, capacity, bestI, bestJ);
+    }
+
+    /**
+     * Sorts the positions of the items by highest cost, then by lowest weight, keeping the original order for equal items.
+     *
+     * @param problem the problem containing the items
+     * @return the sorted positions
+     */
+    private int[] sortedPositions(PackProblem problem) {
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        int[] order = new int[problem.size()];
+        for (int i = 0; i < order.length; i++) {
+            int position = i;
+            int j = i - 1;
+            while (j >= 0 && (costs[order[j]] < costs[position]
+                    || costs[order[j]] == costs[position] && weights[order[j]] > weights[position])) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = position;
+        }
+        return order;
+    }
+
+    /**
+     * Replays the combination generated by the given loop positions, collecting the positions of its items.
+     *
+     * @param order    the sorted positions of the items
+     * @param weights  the weights of the items
+     * @param capacity the capacity of the pack
+     * @param i        the outer loop position of the combination, or {@code -1} if no item was chosen
+     * @param j        the inner loop position of the combination, or {@code -1} if no item was chosen
+     * @return the positions of the items in the combination
+     */
+    private BitSet rebuild(int[] order, int[] weights, int capacity, int i, int j) {
+        BitSet chosen = new BitSet(order.length);
+        if (i < 0 || weights[order[j]] > capacity) {
+            return chosen;
+        }
+        long currentWeight = weights[order[j]];
+        chosen.set(order[j]);
+        for (int k = i; k < order.length; k++) {
+            int item = order[k];
+            if (k != j && currentWeight + weights[item] <= capacity) {
+                currentWeight += weights[item];
+                chosen.set(item);
+            }
+        }
+        return chosen;
+    }
+
+    /**
+     * Since the solution is not guaranteed to be optimal, the LP relaxation of the problem is used as the bound.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @param cost    the total cost of the solution found for the problem, in hundredths
+     * @return the upper bound of the optimal cost, in hundredths
+     */
+    @Override
+    public long upperBound(PackProblem problem, long cost) {
+        return Math.max(cost, Relaxation.of(problem));
+    }
+}
@@ -0,0 +1,85 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+import java.util.Comparator;
+
+/**
+ * Orderings of the items of a {@link PackProblem} shared by the solvers.
+ */
+final class ItemOrder {
+
+    /**
+     * Private empty constructor to avoid instantiations
+     */
+    private ItemOrder() {
+    }
+
+    /**
+     * Sorts the positions of the items by highest cost/weight ratio, as used by the greedy and fractional knapsack bounds. Items without
+     * weight come first, by highest cost, and items without cost come last, by lowest weight. Items with the same ratio keep their
+     * original order.
+     *
+     * @param problem the problem containing the items
+     * @return the sorted positions
+     */
+    static int[] byRatio(PackProblem problem) {
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        return sort(problem.size(), (a, b) -> {
+            int group = Integer.compare(group(weights[a], costs[a]), group(weights[b], costs[b]));
+            if (group != 0) {
+                return group;
+            } else if (costs[a] == 0) {
+                return Integer.compare(weights[a], weights[b]);
+            } else if (weights[a] == 0) {
+                return Integer.compare(costs[b], costs[a]);
+            }
+            return Long.compare((long) costs[b] * weights[a], (long) costs[a] * weights[b]);
+        });
+    }
+
+    /**
+     * Sorts the positions of the items by lowest weight, then by lowest cost. Items with the same weight and cost keep their original
+     * order, so any permutation of the same items results into the same sequence of weights and costs.
+     *
+     * @param problem the problem containing the items
+     * @return the sorted positions
+     */
+    static int[] byWeightAndCost(PackProblem problem) {
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        return sort(problem.size(), (a, b) -> weights[a] != weights[b]
+                ? Integer.compare(weights[a], weights[b])
+                : Integer.compare(costs[a], costs[b]));
+    }
+
+    /**
+     * Sorts the positions of a problem with the given comparator, keeping the original order of equal positions.
+     *
+     * @param size       the amount of positions
+     * @param comparator the comparator of positions
+     * @return the sorted positions
+     */
+    private static int[] sort(int size, Comparator<Integer> comparator) {
+        Integer[] positions = new Integer[size];
+        Arrays.setAll(positions, i -> i);
+        Arrays.sort(positions, comparator);
+        return Arrays.stream(positions).mapToInt(Integer::intValue).toArray();
+    }
+
+    /**
+     * Determines the group of an item in the ratio ordering.
+     *
+     * @param weight the weight of the item
+     * @param cost   the cost of the item
+     * @return {@code 0} for items without weight, {@code 2} for items without cost and {@code 1} otherwise
+     */
+    private static int group(int weight, int cost) {
+        if (cost == 0) {
+            return 2;
+        }
+        return weight == 0 ? 0 : 1;
+    }
+}
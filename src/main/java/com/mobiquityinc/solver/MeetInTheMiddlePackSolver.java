@@ -0,0 +1,140 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+
+import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
+
+/**
+ * Exact solver based on the <a href='https://en.wikipedia.org/wiki/Knapsack_problem#Meet-in-the-middle'>meet-in-the-middle</a>
+ * algorithm by Horowitz and Sahni, keeping exact answers tractable for item lists far larger than a plain subset enumeration allows.
+ * <p>
+ * The items are split in two halves, and the subset sums of each half are enumerated while dominated combinations (heavier and not more
+ * valuable than another one) are pruned. For each combination of the first half, the best fitting combination of the second half is
+ * then found by binary search. Since combinations are tracked as bit masks, at most {@link #MAX_ITEMS} items are supported.
+ */
+public class MeetInTheMiddlePackSolver implements PackSolver {
+    /**
+     * The maximum amount of items supported by the solver
+     */
+    public static final int MAX_ITEMS = Long.SIZE - 1;
+
+    @Override
+    public BitSet solve(PackProblem problem) {
+        int size = problem.size();
+        checkCondition(size <= MAX_ITEMS, "The amount of items in the list (%s) shouldn't exceed %s", size, MAX_ITEMS);
+
+        Frontier first = Frontier.of(problem, 0, size / 2);
+        Frontier second = Frontier.of(problem, size / 2, size);
+
+        long bestCost = -1;
+        long bestWeight = 0;
+        long bestMask = 0;
+        for (int i = 0; i < first.size; i++) {
+            int j = second.lastFitting(problem.getCapacity() - first.weights[i]);
+            long cost = (long) first.costs[i] + second.costs[j];
+            long weight = (long) first.weights[i] + second.weights[j];
+            if (cost > bestCost || cost == bestCost && weight < bestWeight) {
+                bestCost = cost;
+                bestWeight = weight;
+                bestMask = first.masks[i] | second.masks[j];
+            }
+        }
+        return BitSet.valueOf(new long[]{bestMask});
+    }
+
+    /**
+     * The non-dominated subset sums of a range of items, ordered by strictly increasing weight and cost.
+     */
+    private static final class Frontier {
+        private int[] weights = {0};
+        private int[] costs = {0};
+        private long[] masks = {0L};
+        private int size = 1;
+
+        /**
+         * Enumerates the subset sums of the items from {@code from} (inclusive) to {@code to} (exclusive), adding one item at a time: the
+         * current sums, and the same sums shifted by the item, are both ordered by weight, so they are merged in linear time, dropping
+         * every combination that is not more valuable than a lighter one.
+         *
+         * @param problem the problem containing the items
+         * @param from    the first position of the range
+         * @param to      the position after the last one of the range
+         * @return the frontier of the range
+         */
+        private static Frontier of(PackProblem problem, int from, int to) {
+            int capacity = problem.getCapacity();
+            int[] itemWeights = problem.getWeights();
+            int[] itemCosts = problem.getCosts();
+            Frontier frontier = new Frontier();
+
+            for (int p = from; p < to; p++) {
+                if (itemWeights[p] > capacity) {
+                    continue;
+                }
+                int[] weights = new int[frontier.size * 2];
+                int[] costs = new int[frontier.size * 2];
+                long[] masks = new long[frontier.size * 2];
+                int size = 0;
+                int a = 0;
+                int b = 0;
+                long lastCost = -1;
+                while (a < frontier.size || b < frontier.size) {
+                    int shiftedWeight = b < frontier.size ? frontier.weights[b] + itemWeights[p] : Integer.MAX_VALUE;
+                    if (shiftedWeight > capacity) {
+                        b = frontier.size;
+                        shiftedWeight = Integer.MAX_VALUE;
+                        if (a == frontier.size) {
+                            break;
+                        }
+                    }
+                    int weight;
+                    int cost;
+                    long mask;
+                    if (a < frontier.size && (frontier.weights[a] < shiftedWeight
+                            || frontier.weights[a] == shiftedWeight && frontier.costs[a] >= frontier.costs[b] + itemCosts[p])) {
+                        weight = frontier.weights[a];
+                        cost = frontier.costs[a];
+                        mask = frontier.masks[a++];
+                    } else {
+                        weight = shiftedWeight;
+                        cost = frontier.costs[b] + itemCosts[p];
+                        mask = frontier.masks[b++] | 1L << p;
+                    }
+                    if (cost > lastCost) {
+                        weights[size] = weight;
+                        costs[size] = cost;
+                        masks[size++] = mask;
+                        lastCost = cost;
+                    }
+                }
+                frontier.weights = weights;
+                frontier.costs = costs;
+                frontier.masks = masks;
+                frontier.size = size;
+            }
+            return frontier;
+        }
+
+        /**
+         * Binary searches the heaviest combination not exceeding the given weight, which is also the most valuable one.
+         *
+         * @param maxWeight the maximum allowed weight
+         * @return the position of the combination
+         */
+        private int lastFitting(int maxWeight) {
+            int low = 0;
+            int high = size - 1;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (weights[middle] <= maxWeight) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+
+/**
+ * Exact solver for the <a href='https://en.wikipedia.org/wiki/Knapsack_problem#Multi-dimensional_knapsack_problem'>multi-dimensional
+ * knapsack</a>, where the pack limits several resources (such as weight and volume) at once. In case of more than one combination
+ * having the same total cost, the one with the lowest weight (the first dimension) is chosen.
+ * <p>
+ * When the product of all the capacities is small, both by itself and multiplied by the amount of items, a dynamic programming table
+ * over every combination of the used resources is filled, in the same way as the {@link DynamicProgrammingPackSolver}. Otherwise, a
+ * depth-first branch and bound is used, pruning every node whose surrogate relaxation bound can't beat the best solution found so far:
+ * all the dimensions are combined into a single one, each normalized by its capacity, and the fractional knapsack of the remaining
+ * items over it is taken.
+ */
+public class MultiDimensionalPackSolver implements PackSolver {
+    /**
+     * The maximum amount of cells of the dynamic programming table, above which the branch and bound is used
+     */
+    public static final long MAX_TABLE_SIZE = 1L << 26;
+    /**
+     * The maximum amount of combinations of used resources, bounding the row of costs of the table no matter how few items there are,
+     * above which the branch and bound is used
+     */
+    public static final long MAX_STATES = 1L << 20;
+
+    @Override
+    public BitSet solve(PackProblem problem) {
+        long states = 1;
+        for (int k = 0; k < problem.dimensions() && states <= MAX_STATES; k++) {
+            states *= Math.max(problem.getCapacities()[k], 0) + 1L;
+        }
+        if (states <= MAX_STATES && states * Math.max(problem.size(), 1) <= MAX_TABLE_SIZE) {
+            return new Table(problem, (int) states).solve();
+        }
+        Search search = new Search(problem);
+        search.branch(0, 0, 0);
+        return search.solution();
+    }
+
+    /**
+     * Checks whether an item fits the given amounts of each resource.
+     *
+     * @param weights    the packed weights of the items
+     * @param position   the position of the item
+     * @param dimensions the amount of dimensions
+     * @param remaining  the available amount of each resource
+     * @return {@code true} if the item fits in all the dimensions
+     */
+    private static boolean fits(int[] weights, int position, int dimensions, long[] remaining) {
+        for (int k = 0; k < dimensions; k++) {
+            if (weights[position * dimensions + k] > remaining[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * The dynamic programming over all the combinations of used resources, where the state of each combination is its mixed-radix
+     * number, the first dimension being the least significant one.
+     */
+    private static final class Table {
+        private final PackProblem problem;
+        private final int dimensions;
+        private final int states;
+        private final long[] capacities;
+        private final int[] strides;
+
+        private Table(PackProblem problem, int states) {
+            this.problem = problem;
+            this.dimensions = problem.dimensions();
+            this.states = states;
+            capacities = new long[dimensions];
+            strides = new int[dimensions];
+            for (int k = 0, stride = 1; k < dimensions; k++) {
+                capacities[k] = Math.max(problem.getCapacities()[k], 0);
+                strides[k] = stride;
+                stride *= capacities[k] + 1;
+            }
+        }
+
+        /**
+         * Fills the table where each cell {@code best[s]} holds the highest cost achievable without using more than the amounts of
+         * state {@code s} of any resource, keeping track of which items improved each cell. The state with the lowest weight reaching
+         * the highest cost is then used as the starting point to walk the kept items backwards.
+         *
+         * @return the positions of the items in the optimal solution
+         */
+        private BitSet solve() {
+            int size = problem.size();
+            int[] weights = problem.getWeights();
+            int[] costs = problem.getCosts();
+            int[] best = new int[states];
+            long[] kept = new long[(int) (((long) size * states + Long.SIZE - 1) >>> 6)];
+            int[] offsets = new int[size];
+            int[] used = new int[dimensions];
+
+            for (int i = 0; i < size; i++) {
+                if (!fits(weights, i, dimensions, capacities)) {
+                    continue;
+                }
+                for (int k = 0; k < dimensions; k++) {
+                    offsets[i] += weights[i * dimensions + k] * strides[k];
+                    used[k] = (int) capacities[k]; // the amounts of the last state
+                }
+                long row = (long) i * states;
+                for (int s = states - 1; s >= 0; s--) {
+                    if (covers(used, weights, i)) {
+                        int candidate = best[s - offsets[i]] + costs[i];
+                        if (candidate > best[s]) {
+                            best[s] = candidate;
+                            long cell = row + s;
+                            kept[(int) (cell >>> 6)] |= 1L << cell;
+                        }
+                    }
+                    decrement(used);
+                }
+            }
+
+            int state = states - 1;
+            for (int s = 0; s < states; s++) {
+                if (best[s] == best[states - 1] && weight(s) < weight(state)) {
+                    state = s;
+                }
+            }
+
+            BitSet chosen = new BitSet(size);
+            for (int i = size - 1; i >= 0; i--) {
+                long cell = (long) i * states + state;
+                if ((kept[(int) (cell >>> 6)] & 1L << cell) != 0) {
+                    chosen.set(i);
+                    state -= offsets[i];
+                }
+            }
+            return chosen;
+        }
+
+        private boolean covers(int[] used, int[] weights, int position) {
+            for (int k = 0; k < dimensions; k++) {
+                if (used[k] < weights[position * dimensions + k]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Moves the amounts of each resource to the previous state, in mixed-radix order.
+         *
+         * @param used the amounts of each resource of the current state
+         */
+        private void decrement(int[] used) {
+            for (int k = 0; k < dimensions; k++) {
+                if (used[k] > 0) {
+                    used[k]--;
+                    return;
+                }
+                used[k] = (int) capacities[k];
+            }
+        }
+
+        private long weight(int state) {
+            return state % (capacities[0] + 1);
+        }
+    }
+
+    /**
+     * The state of the branch and bound for a single problem, with the items fitting the pack by themselves copied in surrogate ratio
+     * order.
+     */
+    private static final class Search {
+        private static final double TOLERANCE = 1e-6;
+
+        private final int dimensions;
+        private final int problemSize;
+        private final int[] order;
+        private final int[] weights;
+        private final int[] costs;
+        private final double[] surrogateWeights;
+        private final double[] multipliers;
+        private final long[] remaining;
+        private final boolean[] current;
+        private final boolean[] best;
+        private long bestCost = -1;
+        private long bestWeight;
+
+        private Search(PackProblem problem) {
+            dimensions = problem.dimensions();
+            remaining = new long[dimensions];
+            multipliers = new double[dimensions];
+            for (int k = 0; k < dimensions; k++) {
+                remaining[k] = Math.max(problem.getCapacities()[k], 0);
+                multipliers[k] = remaining[k] == 0 ? 0 : 1.0 / remaining[k];
+            }
+
+            int[] fitting = new int[problem.size()];
+            int size = 0;
+            for (int i = 0; i < problem.size(); i++) {
+                if (fits(problem.getWeights(), i, dimensions, remaining)) {
+                    fitting[size++] = i;
+                }
+            }
+            double[] surrogates = new double[problem.size()];
+            for (int p = 0; p < size; p++) {
+                for (int k = 0; k < dimensions; k++) {
+                    surrogates[fitting[p]] += multipliers[k] * problem.getWeights()[fitting[p] * dimensions + k];
+                }
+            }
+
+            order = new int[size];
+            for (int p = 0; p < size; p++) { // insertion sort by highest cost per surrogate weight, zero-weight items first
+                int position = fitting[p];
+                int j = p - 1;
+                while (j >= 0 && (double) problem.getCosts()[order[j]] * surrogates[position]
+                        < (double) problem.getCosts()[position] * surrogates[order[j]]) {
+                    order[j + 1] = order[j];
+                    j--;
+                }
+                order[j + 1] = position;
+            }
+
+            weights = new int[size * dimensions];
+            costs = new int[size];
+            surrogateWeights = new double[size];
+            for (int i = 0; i < size; i++) {
+                System.arraycopy(problem.getWeights(), order[i] * dimensions, weights, i * dimensions, dimensions);
+                costs[i] = problem.getCosts()[order[i]];
+                surrogateWeights[i] = surrogates[order[i]];
+            }
+            current = new boolean[size];
+            best = new boolean[size];
+            problemSize = problem.size();
+        }
+
+        /**
+         * Visits a node of the search tree, where the items before {@code depth} were already decided.
+         *
+         * @param depth  the position of the item to be decided
+         * @param weight the weight (first dimension) of the items already included
+         * @param cost   the cost of the items already included
+         */
+        private void branch(int depth, long weight, long cost) {
+            if (cost > bestCost || cost == bestCost && weight < bestWeight) {
+                bestCost = cost;
+                bestWeight = weight;
+                System.arraycopy(current, 0, best, 0, current.length);
+            }
+            if (depth == order.length) {
+                return;
+            }
+            long bound = bound(depth, cost);
+            if (bound < bestCost || bound == bestCost && weight >= bestWeight) {
+                return;
+            }
+            if (fits(weights, depth, dimensions, remaining)) {
+                for (int k = 0; k < dimensions; k++) {
+                    remaining[k] -= weights[depth * dimensions + k];
+                }
+                current[depth] = true;
+                branch(depth + 1, weight + weights[depth * dimensions], cost + costs[depth]);
+                current[depth] = false;
+                for (int k = 0; k < dimensions; k++) {
+                    remaining[k] += weights[depth * dimensions + k];
+                }
+            }
+            branch(depth + 1, weight, cost);
+        }
+
+        /**
+         * Calculates the optimal value of the fractional knapsack for the undecided items fitting the remaining resources by
+         * themselves, over the surrogate dimension. Since costs are integers, no solution under the node can cost more than the integer
+         * part of this value.
+         *
+         * @param depth the position of the first undecided item
+         * @param cost  the cost of the items already included
+         * @return the upper bound of the cost of any solution under the node
+         */
+        private long bound(int depth, long cost) {
+            double capacity = 0;
+            for (int k = 0; k < dimensions; k++) {
+                capacity += multipliers[k] * remaining[k];
+            }
+            double bound = cost;
+            for (int i = depth; i < order.length; i++) {
+                if (!fits(weights, i, dimensions, remaining)) {
+                    continue;
+                }
+                if (surrogateWeights[i] <= capacity) {
+                    capacity -= surrogateWeights[i];
+                    bound += costs[i];
+                } else {
+                    bound += costs[i] * capacity / surrogateWeights[i];
+                    break;
+                }
+            }
+            return (long) Math.floor(bound + TOLERANCE);
+        }
+
+        /**
+         * Maps the best solution found back to the original positions of the items.
+         *
+         * @return the positions of the chosen items
+         */
+        private BitSet solution() {
+            BitSet chosen = new BitSet(problemSize);
+            for (int i = 0; i < order.length; i++) {
+                if (best[i]) {
+                    chosen.set(order[i]);
+                }
+            }
+            return chosen;
+        }
+    }
+}
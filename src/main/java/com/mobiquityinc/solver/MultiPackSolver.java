@@ -0,0 +1,18 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+/**
+ * Strategy responsible for distributing the items of a {@link PackProblem} with several capacities across its packs, each item going into
+ * at most one of them, so that the total cost of all the packs is the highest possible without exceeding any of their capacities. In case
+ * of more than one distribution having the same total cost, the one with the lowest total weight is favored.
+ */
+public interface MultiPackSolver {
+    /**
+     * Determines the best distribution of the items across the packs of the given problem.
+     *
+     * @param problem the compact representation of the packs, containing all the items that can be chosen
+     * @return the pack of each item, by position, or {@code -1} for the items left out
+     */
+    int[] solve(PackProblem problem);
+}
@@ -0,0 +1,184 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.FixedPoint;
+import com.mobiquityinc.model.Item;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
+
+/**
+ * Stateful solver for a pack whose items are edited one at a time, such as in interactive flows, keeping the dynamic programming table
+ * of {@link DynamicProgrammingPackSolver} between the edits instead of solving the whole pack again after each one.
+ * <p>
+ * The table is kept in layers, one for each item in the order they were added: the layer of an item holds the highest cost achievable
+ * for each weight using it and all the items added before it, as well as the weights it improved. Adding an item only computes its
+ * layer, in {@code O(capacity)}. Removing an item recomputes the layers of the items added after it, so removing the most recently added
+ * item also takes {@code O(capacity)}, and removing any other one takes {@code O(capacity)} for each item added after it. The solution is
+ * then rebuilt from the layers in {@code O(items)}, being the same one {@link DynamicProgrammingPackSolver} finds for the items in the
+ * same order.
+ * <p>
+ * The table takes {@code (items + 1) * (capacity * 100 + 1)} ints. This class is not safe for concurrent use.
+ */
+public class PackSession {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final int capacity;
+    private final List<Item> items = new ArrayList<>();
+    private int[] weights = new int[INITIAL_CAPACITY];
+    private int[] costs = new int[INITIAL_CAPACITY];
+    private int[][] layers = new int[INITIAL_CAPACITY + 1][];
+    private long[][] kept = new long[INITIAL_CAPACITY][];
+    private Pack solution;
+
+    /**
+     * Instantiates a new PackSession, solving the given pack with all its items, in their original order.
+     *
+     * @param pack the pack containing the initial items, with a single capacity and dimension
+     * @throws com.mobiquityinc.exception.APIException if the pack has several capacities or dimensions, any of its values can't be
+     *                                                 represented in fixed-point or any of its items' indexes is repeated
+     */
+    public PackSession(Pack pack) {
+        PackProblem problem = PackProblem.of(pack);
+        checkCondition(problem.packCount() == 1 && problem.dimensions() == 1,
+                "Only packs with a single capacity and dimension can be solved incrementally");
+        this.capacity = Math.max(problem.getCapacity(), 0);
+        this.layers[0] = new int[capacity + 1];
+        for (Item item : pack.getItems()) {
+            addItem(item);
+        }
+    }
+
+    /**
+     * Adds an item after all the current ones, computing its layer of the table.
+     *
+     * @param item the item to be added
+     * @throws com.mobiquityinc.exception.APIException if its values can't be represented in fixed-point, or its index is already in the
+     *                                                 session
+     */
+    public void addItem(Item item) {
+        checkCondition(position(item.getIndex()) < 0, "The item %s is already in the session", item.getIndex());
+        checkCondition(item.getExtraWeights().length == 0, "The item %s has more than one dimension", item.getIndex());
+        int weight = FixedPoint.toFixedPoint(item.getWeight());
+        int cost = FixedPoint.toFixedPoint(item.getCost());
+        int size = items.size();
+        if (size == weights.length) {
+            weights = Arrays.copyOf(weights, size * 2);
+            costs = Arrays.copyOf(costs, size * 2);
+            layers = Arrays.copyOf(layers, size * 2 + 1);
+            kept = Arrays.copyOf(kept, size * 2);
+        }
+        items.add(item);
+        weights[size] = weight;
+        costs[size] = cost;
+        computeLayer(size);
+        solution = null;
+    }
+
+    /**
+     * Removes an item, recomputing the layers of the items added after it.
+     *
+     * @param index the index of the item to be removed
+     * @return {@code true} if the item was in the session
+     */
+    public boolean removeItem(int index) {
+        int position = position(index);
+        if (position < 0) {
+            return false;
+        }
+        items.remove(position);
+        int size = items.size();
+        System.arraycopy(weights, position + 1, weights, position, size - position);
+        System.arraycopy(costs, position + 1, costs, position, size - position);
+        for (int i = position; i < size; i++) {
+            computeLayer(i);
+        }
+        solution = null;
+        return true;
+    }
+
+    /**
+     * The items currently in the session, in the order they were added.
+     *
+     * @return an unmodifiable view of the items
+     */
+    public List<Item> getItems() {
+        return Collections.unmodifiableList(items);
+    }
+
+    /**
+     * The best subset of the current items (highest cost, without exceeding the capacity, and the lowest weight in case of a tie),
+     * rebuilt from the table only after the items change.
+     *
+     * @return the pack containing the chosen items, ordered by index
+     */
+    public Pack getSolution() {
+        if (solution == null) {
+            solution = rebuild();
+        }
+        return solution;
+    }
+
+    /**
+     * Computes the layer of an item from the layer of the previous one, keeping track of the weights it improves. The arrays of the layer
+     * are reused if they were already allocated.
+     *
+     * @param i the position of the item
+     */
+    private void computeLayer(int i) {
+        int[] previous = layers[i];
+        int[] best = layers[i + 1] == null ? new int[capacity + 1] : layers[i + 1];
+        long[] improved = kept[i] == null ? new long[(capacity + Long.SIZE) >>> 6] : kept[i];
+        System.arraycopy(previous, 0, best, 0, capacity + 1);
+        Arrays.fill(improved, 0L);
+        for (int w = capacity; w >= weights[i]; w--) {
+            int candidate = previous[w - weights[i]] + costs[i];
+            if (candidate > best[w]) {
+                best[w] = candidate;
+                improved[w >>> 6] |= 1L << w;
+            }
+        }
+        layers[i + 1] = best;
+        kept[i] = improved;
+    }
+
+    /**
+     * Walks the kept weights of each layer backwards, from the lowest weight reaching the highest cost, as done by
+     * {@link DynamicProgrammingPackSolver}.
+     *
+     * @return the pack containing the chosen items
+     */
+    private Pack rebuild() {
+        int size = items.size();
+        int[] best = layers[size];
+        int w = 0;
+        while (best[w] < best[capacity]) {
+            w++;
+        }
+
+        BitSet chosen = new BitSet(size);
+        for (int i = size - 1; i >= 0; i--) {
+            if ((kept[i][w >>> 6] & 1L << w) != 0) {
+                chosen.set(i);
+                w -= weights[i];
+            }
+        }
+        int[] indices = items.stream().mapToInt(Item::getIndex).toArray();
+        return new PackProblem(capacity, indices, Arrays.copyOf(weights, size), Arrays.copyOf(costs, size)).toPack(chosen);
+    }
+
+    private int position(int index) {
+        for (int i = 0; i < items.size(); i++) {
+            if (items.get(i).getIndex() == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+}
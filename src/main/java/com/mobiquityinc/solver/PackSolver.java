@@ -0,0 +1,31 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.BitSet;
+
+/**
+ * Strategy responsible for choosing, from all the items of a {@link PackProblem}, the subset that sums the highest cost without exceeding
+ * the pack's capacity. In case of more than one combination having the same total cost, the one with the lowest weight is favored.
+ */
+public interface PackSolver {
+    /**
+     * Determines the best subset of items that fit in the given pack.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the positions of the chosen items
+     */
+    BitSet solve(PackProblem problem);
+
+    /**
+     * Determines how much the optimal solution of a problem can cost, given the cost of the solution found by this solver. Exact solvers
+     * find the optimum, so the found cost itself is returned by default, while approximate ones return a higher bound.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @param cost    the total cost of the solution found for the problem, in hundredths
+     * @return the upper bound of the optimal cost, in hundredths
+     */
+    default long upperBound(PackProblem problem, long cost) {
+        return cost;
+    }
+}
@@ -0,0 +1,292 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.metrics.PackerMetrics;
+import com.mobiquityinc.metrics.Stage;
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Decorator shrinking each problem before it is solved by another {@link PackSolver}, by eliminating the items whose presence in the
+ * optimal solution can be decided upfront. The reductions, applied in this order, are:
+ * <ul>
+ * <li>items heavier than the pack, or without cost, are left out, while items without weight are always chosen;</li>
+ * <li>if all the remaining items fit the pack together, they are all chosen, and the decorated solver is not called at all;</li>
+ * <li>items dominated by another one, lighter and at least as valuable (or as light and more valuable), are left out when both of them
+ * don't fit the pack together, since swapping them would always improve the solution;</li>
+ * <li>the core problem reduction: taking the greedy solution as a lower bound of the optimum, items whose exclusion (or inclusion) makes
+ * the fractional knapsack bound fall below it are chosen (or left out).</li>
+ * </ul>
+ * Only the items that could go either way are passed to the decorated solver. Problems with more than one dimension are passed unchanged.
+ * The amount of items seen and eliminated is accumulated since the solver was created.
+ * <p>
+ * This class is safe for concurrent use, as long as the decorated solver is.
+ */
+public class ReducingPackSolver implements PackSolver {
+    private final PackSolver solver;
+    private final AtomicLong items = new AtomicLong();
+    private final AtomicLong eliminated = new AtomicLong();
+
+    /**
+     * Instantiates a new ReducingPackSolver, in front of the given {@code solver}.
+     *
+     * @param solver the solver of the reduced problems
+     */
+    public ReducingPackSolver(PackSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Reduces the problem, solving only the undecided items with the decorated solver.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @return the positions of the chosen items, in the given problem
+     */
+    @Override
+    public BitSet solve(PackProblem problem) {
+        if (problem.dimensions() > 1) {
+            return solver.solve(problem);
+        }
+        long start = PackerMetrics.start();
+        Reduction reduction = new Reduction(problem);
+        PackerMetrics.stop(Stage.REDUCE, start);
+        items.addAndGet(problem.size());
+        eliminated.addAndGet(problem.size() - reduction.positions.length);
+
+        BitSet chosen = reduction.chosen;
+        if (reduction.positions.length > 0) {
+            solver.solve(reduction.problem()).stream().forEach(i -> chosen.set(reduction.positions[i]));
+        }
+        return chosen;
+    }
+
+    @Override
+    public long upperBound(PackProblem problem, long cost) {
+        return solver.upperBound(problem, cost);
+    }
+
+    /**
+     * The amount of items of all the problems given to this solver.
+     *
+     * @return the amount of items seen
+     */
+    public long getItems() {
+        return items.get();
+    }
+
+    /**
+     * The amount of items decided by the reductions, which were not passed to the decorated solver.
+     *
+     * @return the amount of items eliminated
+     */
+    public long getEliminated() {
+        return eliminated.get();
+    }
+
+    /**
+     * The reductions of a single problem: the items already chosen, and the positions of the undecided ones.
+     */
+    private static final class Reduction {
+        private static final byte UNDECIDED = 0;
+        private static final byte CHOSEN = 1;
+        private static final byte LEFT_OUT = 2;
+
+        private final PackProblem problem;
+        private final int[] weights;
+        private final int[] costs;
+        private final byte[] state;
+        private final BitSet chosen;
+        private long capacity;
+        private final int[] positions;
+
+        private Reduction(PackProblem problem) {
+            this.problem = problem;
+            this.weights = problem.getWeights();
+            this.costs = problem.getCosts();
+            this.state = new byte[problem.size()];
+            this.chosen = new BitSet(problem.size());
+            this.capacity = problem.getCapacity();
+
+            long undecidedWeight = 0;
+            for (int i = 0; i < state.length; i++) {
+                if (weights[i] > capacity || costs[i] == 0) {
+                    state[i] = LEFT_OUT;
+                } else if (weights[i] == 0) {
+                    state[i] = CHOSEN;
+                } else {
+                    undecidedWeight += weights[i];
+                }
+            }
+            if (undecidedWeight <= capacity) {
+                for (int i = 0; i < state.length; i++) {
+                    if (state[i] == UNDECIDED) {
+                        state[i] = CHOSEN;
+                    }
+                }
+            } else {
+                leaveOutDominated();
+                fixByBounds();
+            }
+
+            int undecided = 0;
+            for (int i = 0; i < state.length; i++) {
+                if (state[i] == CHOSEN) {
+                    chosen.set(i);
+                    capacity -= weights[i];
+                } else if (state[i] == UNDECIDED) {
+                    undecided++;
+                }
+            }
+            positions = new int[undecided];
+            for (int i = 0, p = 0; i < state.length; i++) {
+                if (state[i] == UNDECIDED) {
+                    positions[p++] = i;
+                }
+            }
+        }
+
+        /**
+         * Leaves out the items dominated by another one which doesn't fit the pack together with them. Only items heavier than half the
+         * capacity can be dominated, and their candidates are the items by weight from {@code capacity - weight} (exclusive) to their own
+         * weight (inclusive).
+         */
+        private void leaveOutDominated() {
+            int[] order = undecided(ItemOrder.byWeightAndCost(problem));
+            for (int b = 0; b < order.length; b++) {
+                int j = order[b];
+                if (2L * weights[j] <= capacity) {
+                    continue;
+                }
+                for (int a = firstHeavierThan(order, capacity - weights[j]); a < order.length && weights[order[a]] <= weights[j]; a++) {
+                    int i = order[a];
+                    if (i != j && costs[i] >= costs[j] && (weights[i] < weights[j] || costs[i] > costs[j])) {
+                        state[j] = LEFT_OUT;
+                        break;
+                    }
+                }
+            }
+        }
+
+        /**
+         * Chooses or leaves out the items whose fractional knapsack bound, when excluded or included, is below the cost of the greedy
+         * solution, since every optimal solution costs at least as much. The bounds are found by binary search over the prefix sums of the
+         * items by ratio, so the whole pass takes {@code O(n log n)}.
+         */
+        private void fixByBounds() {
+            int[] order = undecided(ItemOrder.byRatio(problem));
+            long[] prefixWeights = new long[order.length + 1];
+            long[] prefixCosts = new long[order.length + 1];
+            long lowerBound = 0;
+            long remaining = capacity;
+            for (int r = 0; r < order.length; r++) {
+                prefixWeights[r + 1] = prefixWeights[r] + weights[order[r]];
+                prefixCosts[r + 1] = prefixCosts[r] + costs[order[r]];
+                if (weights[order[r]] <= remaining) {
+                    remaining -= weights[order[r]];
+                    lowerBound += costs[order[r]];
+                }
+            }
+
+            for (int s = 0; s < order.length; s++) {
+                int j = order[s];
+                if (bound(order, prefixWeights, prefixCosts, capacity, s) < lowerBound) {
+                    state[j] = CHOSEN;
+                } else if (costs[j] + bound(order, prefixWeights, prefixCosts, capacity - weights[j], s) < lowerBound) {
+                    state[j] = LEFT_OUT;
+                }
+            }
+        }
+
+        /**
+         * Calculates the fractional knapsack bound of the items by ratio, excluding one of them: the largest prefix fitting the capacity
+         * is found by binary search, and a fraction of the next item fills the remaining capacity.
+         *
+         * @param order         the positions of the items, by ratio
+         * @param prefixWeights the total weight of each prefix of the items
+         * @param prefixCosts   the total cost of each prefix of the items
+         * @param capacity      the capacity of the pack
+         * @param skip          the rank of the excluded item
+         * @return the integer part of the bound, in hundredths
+         */
+        private long bound(int[] order, long[] prefixWeights, long[] prefixCosts, long capacity, int skip) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int middle = (low + high + 1) >>> 1;
+                if (before(prefixWeights, weights, order, middle, skip) <= capacity) {
+                    low = middle;
+                } else {
+                    high = middle - 1;
+                }
+            }
+            long bound = before(prefixCosts, costs, order, low, skip);
+            if (low < order.length) { // never the skipped item, since skipping it doesn't change the total
+                bound += costs[order[low]] * (capacity - before(prefixWeights, weights, order, low, skip)) / weights[order[low]];
+            }
+            return bound;
+        }
+
+        /**
+         * Sums the values of the first items by ratio, excluding the skipped one.
+         *
+         * @param prefix the prefix sums of the values
+         * @param values the values of the items, by position
+         * @param order  the positions of the items, by ratio
+         * @param count  the amount of items summed
+         * @param skip   the rank of the excluded item
+         * @return the total value
+         */
+        private static long before(long[] prefix, int[] values, int[] order, int count, int skip) {
+            return skip < count ? prefix[count] - values[order[skip]] : prefix[count];
+        }
+
+        private int firstHeavierThan(int[] order, long weight) {
+            int low = 0;
+            int high = order.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (weights[order[middle]] <= weight) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        /**
+         * Filters the given positions, keeping only the undecided items, in the same order.
+         *
+         * @param order the positions of all the items
+         * @return the positions of the undecided items
+         */
+        private int[] undecided(int[] order) {
+            int size = 0;
+            for (int i : order) {
+                if (state[i] == UNDECIDED) {
+                    order[size++] = i;
+                }
+            }
+            return Arrays.copyOf(order, size);
+        }
+
+        /**
+         * Creates the problem containing only the undecided items, whose capacity is what is left by the chosen ones.
+         *
+         * @return the reduced problem
+         */
+        private PackProblem problem() {
+            int[] indices = new int[positions.length];
+            int[] reducedWeights = new int[positions.length];
+            int[] reducedCosts = new int[positions.length];
+            for (int i = 0; i < positions.length; i++) {
+                indices[i] = problem.getIndices()[positions[i]];
+                reducedWeights[i] = weights[positions[i]];
+                reducedCosts[i] = costs[positions[i]];
+            }
+            return new PackProblem((int) capacity, indices, reducedWeights, reducedCosts);
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+/**
+ * The LP relaxation of a problem (the fractional knapsack), used as an upper bound of its optimal cost by the solvers not guaranteed to
+ * find the optimum, and for the solutions of {@link AnytimePackSolver}s stopped before finishing.
+ */
+public final class Relaxation {
+
+    /**
+     * Private empty constructor to avoid instantiations
+     */
+    private Relaxation() {
+    }
+
+    /**
+     * Calculates the optimal value of the fractional knapsack: the items fitting the pack by themselves are included by ratio order while
+     * they fit, and then a fraction of the first one that doesn't fit fills the remaining capacity.
+     *
+     * @param problem the problem containing the items
+     * @return the integer part of the optimal value, in hundredths
+     */
+    public static long of(PackProblem problem) {
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        long capacity = Math.max(problem.getCapacity(), 0);
+        long remaining = capacity;
+        long bound = 0;
+        for (int i : ItemOrder.byRatio(problem)) {
+            if (weights[i] > capacity) {
+                continue;
+            }
+            if (weights[i] <= remaining) {
+                remaining -= weights[i];
+                bound += costs[i];
+            } else {
+                return bound + costs[i] * remaining / weights[i];
+            }
+        }
+        return bound;
+    }
+}
@@ -0,0 +1,165 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+import static com.mobiquityinc.packer.PackerPreconditions.checkCondition;
+
+/**
+ * Enumerates the {@code k} best solutions of a problem, in order, instead of only the best one. Solutions are ranked in the same way as
+ * {@link com.mobiquityinc.model.Parameterized#compareTo(com.mobiquityinc.model.Parameterized)}: highest cost, then lowest weight.
+ * <p>
+ * It follows Lawler's method, as a lazy best-first search over a partition of the solution space. Each subspace is defined by the items
+ * forced into or out of the solutions, and its best solution is found by an exact {@link PackSolver} on the remaining items. The best
+ * subspace is taken from a priority queue and its solution reported, and the rest of the subspace is split into one subspace for each
+ * of its free items: the {@code j}th one keeps the choices of the solution for the free items before the {@code j}th, and flips the
+ * choice for the {@code j}th. Every subset is in exactly one subspace, so each solution is reported once, and only {@code k} subspaces
+ * are ever split, solving at most {@code k * items} smaller problems.
+ * <p>
+ * This class is safe for concurrent use, as long as the exact solver is.
+ */
+public class TopKPackSolver {
+    private static final byte FREE = 0;
+    private static final byte IN = 1;
+    private static final byte OUT = 2;
+
+    private final PackSolver solver;
+
+    /**
+     * Instantiates a new TopKPackSolver, finding the best solution of each subspace with the given solver.
+     *
+     * @param solver an exact solver, breaking ties by the lowest weight
+     */
+    public TopKPackSolver(PackSolver solver) {
+        this.solver = solver;
+    }
+
+    /**
+     * Finds the {@code k} best solutions of a problem with a single pack, or all of its feasible solutions if there are less than
+     * {@code k} of them.
+     *
+     * @param problem the compact representation of the pack, containing all the items that can be chosen
+     * @param k       the maximum amount of solutions
+     * @return the positions of the chosen items of each solution, from the best to the worst
+     */
+    public List<BitSet> solve(PackProblem problem, int k) {
+        checkCondition(k > 0, "The amount of solutions (%s) should be positive", k);
+        checkCondition(problem.packCount() == 1, "Only packs with a single capacity can have several solutions");
+
+        List<BitSet> solutions = new ArrayList<>(k);
+        PriorityQueue<Subspace> queue = new PriorityQueue<>(Comparator.comparingLong((Subspace s) -> -s.cost)
+                .thenComparingLong(s -> s.weight)
+                .thenComparingLong(s -> s.sequence));
+        long sequence = 0;
+        queue.add(solve(problem, new byte[problem.size()], sequence++));
+        while (!queue.isEmpty() && solutions.size() < k) {
+            Subspace best = queue.poll();
+            solutions.add(best.solution);
+            if (solutions.size() == k) {
+                break;
+            }
+            byte[] state = best.state.clone();
+            for (int j = 0; j < state.length; j++) {
+                if (state[j] != FREE) {
+                    continue;
+                }
+                boolean chosen = best.solution.get(j);
+                state[j] = chosen ? OUT : IN;
+                Subspace child = solve(problem, state.clone(), sequence++);
+                if (child != null) {
+                    queue.add(child);
+                }
+                state[j] = chosen ? IN : OUT;
+            }
+        }
+        return solutions;
+    }
+
+    /**
+     * Finds the best solution of a subspace, solving the problem made of its free items, with the capacities left by the forced ones.
+     *
+     * @param problem  the original problem
+     * @param state    whether each item is free, forced in or forced out
+     * @param sequence the order of creation of the subspace, breaking the ties of the queue
+     * @return the subspace and its best solution, or {@code null} if the forced items don't fit the pack
+     */
+    private Subspace solve(PackProblem problem, byte[] state, long sequence) {
+        int dimensions = problem.dimensions();
+        int[] weights = problem.getWeights();
+        int[] costs = problem.getCosts();
+        long[] capacities = new long[dimensions];
+        for (int k = 0; k < dimensions; k++) {
+            capacities[k] = problem.getCapacities()[k];
+        }
+        int free = 0;
+        BitSet solution = new BitSet(state.length);
+        for (int i = 0; i < state.length; i++) {
+            if (state[i] == IN) {
+                solution.set(i);
+                for (int k = 0; k < dimensions; k++) {
+                    capacities[k] -= weights[i * dimensions + k];
+                }
+            } else if (state[i] == FREE) {
+                free++;
+            }
+        }
+        for (long capacity : capacities) {
+            if (capacity < 0) {
+                return null;
+            }
+        }
+
+        int[] positions = new int[free];
+        int[] freeIndices = new int[free];
+        int[] freeWeights = new int[free * dimensions];
+        int[] freeCosts = new int[free];
+        for (int i = 0, p = 0; i < state.length; i++) {
+            if (state[i] == FREE) {
+                positions[p] = i;
+                freeIndices[p] = problem.getIndices()[i];
+                System.arraycopy(weights, i * dimensions, freeWeights, p * dimensions, dimensions);
+                freeCosts[p++] = costs[i];
+            }
+        }
+        if (free > 0) {
+            int[] freeCapacities = new int[dimensions];
+            for (int k = 0; k < dimensions; k++) {
+                freeCapacities[k] = (int) capacities[k];
+            }
+            PackProblem subproblem = new PackProblem(freeCapacities, dimensions, freeIndices, freeWeights, freeCosts);
+            solver.solve(subproblem).stream().forEach(p -> solution.set(positions[p]));
+        }
+
+        long cost = 0;
+        long weight = 0;
+        for (int i = solution.nextSetBit(0); i >= 0; i = solution.nextSetBit(i + 1)) {
+            cost += costs[i];
+            weight += weights[i * dimensions];
+        }
+        return new Subspace(state, solution, cost, weight, sequence);
+    }
+
+    /**
+     * A subspace of the solutions, with its best solution.
+     */
+    private static final class Subspace {
+        private final byte[] state;
+        private final BitSet solution;
+        private final long cost;
+        private final long weight;
+        private final long sequence;
+
+        private Subspace(byte[] state, BitSet solution, long cost, long weight, long sequence) {
+            this.state = state;
+            this.solution = solution;
+            this.cost = cost;
+            this.weight = weight;
+            this.sequence = sequence;
+        }
+    }
+}
@@ -2,9 +2,12 @@ package com.mobiquityinc;
 
 import com.mobiquityinc.model.Item;
 import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
 
 import java.math.BigDecimal;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Random;
 
 /**
  * A helper class to provide mocks to be used in unit tests
@@ -46,4 +49,47 @@ public class PackMocker {
     public static Item item(int index, String weight, String cost) {
         return new Item(index, new BigDecimal(weight), new BigDecimal(cost));
     }
+
+    /**
+     * Generates a new PackProblem with random weights and costs, both of them with two decimal places
+     *
+     * @param random    the source of randomness
+     * @param size      the amount of items of the problem
+     * @param capacity  the capacity of the problem, in hundredths
+     * @param maxWeight the maximum weight of each item, in hundredths
+     * @return a new instance of PackProblem
+     */
+    public static PackProblem randomProblem(Random random, int size, int capacity, int maxWeight) {
+        int[] indices = new int[size];
+        int[] weights = new int[size];
+        int[] costs = new int[size];
+        for (int i = 0; i < size; i++) {
+            indices[i] = i + 1;
+            weights[i] = random.nextInt(maxWeight + 1);
+            costs[i] = random.nextInt(10001);
+        }
+        return new PackProblem(capacity, indices, weights, costs);
+    }
+
+    /**
+     * Sums the weights of the chosen items of a problem
+     *
+     * @param problem the problem containing the items
+     * @param chosen  the positions of the chosen items
+     * @return the total weight, in hundredths
+     */
+    public static long totalWeight(PackProblem problem, BitSet chosen) {
+        return chosen.stream().mapToLong(i -> problem.getWeights()[i]).sum();
+    }
+
+    /**
+     * Sums the costs of the chosen items of a problem
+     *
+     * @param problem the problem containing the items
+     * @param chosen  the positions of the chosen items
+     * @return the total cost, in hundredths
+     */
+    public static long totalCost(PackProblem problem, BitSet chosen) {
+        return chosen.stream().mapToLong(i -> problem.getCosts()[i]).sum();
+    }
 }
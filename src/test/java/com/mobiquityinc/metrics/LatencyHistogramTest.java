@@ -0,0 +1,106 @@
+package com.mobiquityinc.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link LatencyHistogram} class.
+ *
+ * @see LatencyHistogram
+ */
+public class LatencyHistogramTest {
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    /**
+     * Validates that small values are recorded exactly
+     *
+     * @see LatencyHistogram#getValueAtPercentile(double)
+     */
+    @Test
+    public void testSmallValues() {
+        for (int i = 1; i <= 10; i++) {
+            histogram.record(i);
+        }
+
+        assertThat(histogram.getCount(), is(10L));
+        assertThat(histogram.getTotal(), is(55L));
+        assertThat(histogram.getMean(), closeTo(5.5, 0.001));
+        assertThat(histogram.getValueAtPercentile(50), is(5L));
+        assertThat(histogram.getValueAtPercentile(100), is(10L));
+        assertThat(histogram.getMax(), is(10L));
+    }
+
+    /**
+     * Validates that percentiles of large values stay within the precision of the buckets, and never exceed the maximum
+     *
+     * @see LatencyHistogram#getValueAtPercentile(double)
+     */
+    @Test
+    public void testLargeValues() {
+        for (long i = 1; i <= 100_000; i++) {
+            histogram.record(i * 1_000);
+        }
+
+        assertThat(histogram.getValueAtPercentile(50), allOf(greaterThanOrEqualTo(50_000_000L), lessThanOrEqualTo(52_000_000L)));
+        assertThat(histogram.getValueAtPercentile(99), allOf(greaterThanOrEqualTo(99_000_000L), lessThanOrEqualTo(100_000_000L)));
+        assertThat(histogram.getValueAtPercentile(100), is(100_000_000L));
+    }
+
+    /**
+     * Validates that every value falls within the bounds of its bucket, including the extremes of a {@code long}
+     *
+     * @see LatencyHistogram#bucket(long)
+     */
+    @Test
+    public void testBuckets() {
+        long[] values = {0, 1, 31, 32, 33, 63, 64, 1_000, 123_456_789, Long.MAX_VALUE};
+        for (long value : values) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertThat(LatencyHistogram.upperBound(bucket), greaterThanOrEqualTo(value));
+            if (bucket > 0) {
+                assertThat(LatencyHistogram.upperBound(bucket - 1), lessThanOrEqualTo(value - 1));
+            }
+        }
+    }
+
+    /**
+     * Validates that the upper bound of the bucket of any value overestimates it by less than 1/16, the worst case being the lowest
+     * value of each bucket of the first sub-bucket of a power of two
+     *
+     * @see LatencyHistogram#upperBound(int)
+     */
+    @Test
+    public void testRelativeError() {
+        for (long value = 32; value > 0 && value < Long.MAX_VALUE / 2; value = value * 2 + 1) {
+            for (long candidate : new long[]{value, value + 1, value * 2 - 1}) {
+                double error = (double) (LatencyHistogram.upperBound(LatencyHistogram.bucket(candidate)) - candidate) / candidate;
+                assertThat(error, lessThan(1.0 / 16));
+            }
+        }
+        long lowest = 1L << 20;
+        assertThat((double) (LatencyHistogram.upperBound(LatencyHistogram.bucket(lowest)) - lowest) / lowest, greaterThan(0.06));
+    }
+
+    /**
+     * Validates that resetting the histogram discards all the recorded values
+     *
+     * @see LatencyHistogram#reset()
+     */
+    @Test
+    public void testReset() {
+        histogram.record(42);
+        histogram.reset();
+
+        assertThat(histogram.getCount(), is(0L));
+        assertThat(histogram.getMax(), is(0L));
+        assertThat(histogram.getValueAtPercentile(99), is(0L));
+    }
+}
@@ -0,0 +1,158 @@
+package com.mobiquityinc.metrics;
+
+import com.mobiquityinc.PackMocker;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.lang.management.ManagementFactory;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.util.stream.Stream;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link PackerMetrics} class, and the stages recorded by the packing pipeline.
+ * <p>
+ * Since the {@value PackerMetrics#ENABLED_PROPERTY} property is read once, when the class is initialized, the main classes are loaded
+ * again by isolated class loaders, with the property set as needed by each case. The metrics of the enabled ones are read through the
+ * MBeans they register.
+ *
+ * @see PackerMetrics
+ */
+public class PackerMetricsTest {
+    private static final MBeanServer SERVER = ManagementFactory.getPlatformMBeanServer();
+
+    private static ClassLoader enabled;
+
+    @BeforeClass
+    public static void loadEnabled() throws ReflectiveOperationException {
+        enabled = isolated(true);
+    }
+
+    @AfterClass
+    public static void unregister() throws JMException {
+        for (ObjectName name : SERVER.queryNames(new ObjectName("com.mobiquityinc:type=PackerMetrics,*"), null)) {
+            SERVER.unregisterMBean(name);
+        }
+    }
+
+    @Before
+    public void reset() throws JMException {
+        for (Stage stage : Stage.values()) {
+            SERVER.invoke(name(stage), "reset", null, null);
+        }
+    }
+
+    /**
+     * Validates that nothing is measured nor registered when the property is not set
+     *
+     * @see PackerMetrics#isEnabled()
+     */
+    @Test
+    public void testDisabled() throws ReflectiveOperationException {
+        ClassLoader disabled = isolated(false);
+        Class<?> metrics = disabled.loadClass(PackerMetrics.class.getName());
+        Object parse = stage(disabled, Stage.PARSE);
+
+        assertThat(metrics.getMethod("isEnabled").invoke(null), is(false));
+        assertThat(metrics.getMethod("start").invoke(null), is(0L));
+        metrics.getMethod("stop", parse.getClass(), long.class).invoke(null, parse, 0L);
+        Object stageMetrics = metrics.getMethod("get", parse.getClass()).invoke(null, parse);
+        assertThat(stageMetrics.getClass().getMethod("getCount").invoke(stageMetrics), is(0L));
+    }
+
+    /**
+     * Validates that each measured execution is recorded into the metrics of its stage, and that the metrics of every stage are
+     * registered as MBeans
+     *
+     * @see PackerMetrics#start()
+     * @see PackerMetrics#stop(Stage, long)
+     */
+    @Test
+    public void testEnabled() throws Exception {
+        Class<?> metrics = enabled.loadClass(PackerMetrics.class.getName());
+        Object parse = stage(enabled, Stage.PARSE);
+
+        assertThat(metrics.getMethod("isEnabled").invoke(null), is(true));
+        long start = (long) metrics.getMethod("start").invoke(null);
+        metrics.getMethod("stop", parse.getClass(), long.class).invoke(null, parse, start);
+
+        for (Stage stage : Stage.values()) {
+            assertThat(SERVER.isRegistered(name(stage)), is(true));
+            assertThat(count(stage), is(stage == Stage.PARSE ? 1L : 0L));
+        }
+    }
+
+    /**
+     * Validates that processing a file records each stage of the pipeline, once for the file or once for each of its packs
+     *
+     * @see com.mobiquityinc.packer.PackProcessor#processFile(String)
+     */
+    @Test
+    public void testProcessFileStages() throws Exception {
+        Class<?> processor = enabled.loadClass("com.mobiquityinc.packer.PackProcessor");
+        processor.getMethod("processFile", String.class).invoke(processor.newInstance(), PackMocker.VALID_INPUT);
+
+        assertThat(count(Stage.READ), is(1L));
+        assertThat(count(Stage.PARSE), is(2L));
+        assertThat(count(Stage.VALIDATE), is(2L));
+        assertThat(count(Stage.REDUCE), is(0L));
+        assertThat(count(Stage.SOLVE), is(2L));
+        assertThat(count(Stage.FORMAT), is(2L));
+    }
+
+    /**
+     * Validates that streaming a file records the parsing of each of its lines, as they are consumed
+     *
+     * @see com.mobiquityinc.packer.PackFileReader#streamFile(String)
+     */
+    @Test
+    public void testStreamFileStages() throws Exception {
+        Class<?> reader = enabled.loadClass("com.mobiquityinc.packer.PackFileReader");
+        try (Stream<?> packs = (Stream<?>) reader.getMethod("streamFile", String.class).invoke(reader.newInstance(),
+                PackMocker.VALID_INPUT)) {
+            assertThat(count(Stage.PARSE), is(0L));
+            assertThat(packs.count(), is(2L));
+        }
+
+        assertThat(count(Stage.PARSE), is(2L));
+    }
+
+    /**
+     * Loads the main classes again, with the metrics enabled or disabled.
+     */
+    private static ClassLoader isolated(boolean enabled) throws ReflectiveOperationException {
+        URL classes = PackerMetrics.class.getProtectionDomain().getCodeSource().getLocation();
+        ClassLoader loader = new URLClassLoader(new URL[]{classes}, null);
+        String previous = System.setProperty(PackerMetrics.ENABLED_PROPERTY, String.valueOf(enabled));
+        try {
+            Class.forName(PackerMetrics.class.getName(), true, loader);
+        } finally {
+            if (previous == null) {
+                System.clearProperty(PackerMetrics.ENABLED_PROPERTY);
+            } else {
+                System.setProperty(PackerMetrics.ENABLED_PROPERTY, previous);
+            }
+        }
+        return loader;
+    }
+
+    private static Object stage(ClassLoader loader, Stage stage) throws ReflectiveOperationException {
+        return loader.loadClass(Stage.class.getName()).getField(stage.name()).get(null);
+    }
+
+    private static long count(Stage stage) throws JMException {
+        return (long) SERVER.getAttribute(name(stage), "Count");
+    }
+
+    private static ObjectName name(Stage stage) throws JMException {
+        return new ObjectName("com.mobiquityinc:type=PackerMetrics,stage=" + stage);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mobiquityinc.metrics;
+
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.closeTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.startsWith;
+
+/**
+ * Test cases for validating the {@link StageMetrics} class.
+ *
+ * @see StageMetrics
+ */
+public class StageMetricsTest {
+    private final StageMetrics metrics = new StageMetrics(Stage.SOLVE);
+
+    /**
+     * Validates that the snapshot of the metrics reflects the recorded executions
+     *
+     * @see StageMetrics#record(long)
+     */
+    @Test
+    public void testRecord() {
+        for (int i = 1; i <= 10; i++) {
+            metrics.record(i * 1_000);
+        }
+
+        assertThat(metrics.getStage(), is(Stage.SOLVE));
+        assertThat(metrics.getCount(), is(10L));
+        assertThat(metrics.getTotalNanos(), is(55_000L));
+        assertThat(metrics.getMeanNanos(), closeTo(5_500, 0.001));
+        assertThat(metrics.getMaxNanos(), is(10_000L));
+        assertThat(metrics.getP50Nanos(), allOf(greaterThanOrEqualTo(5_000L), lessThan(5_000L + 5_000 / 16)));
+        assertThat(metrics.getP99Nanos(), is(10_000L));
+        assertThat(metrics.getP999Nanos(), is(10_000L));
+        assertThat(metrics.getThroughput(), greaterThan(0.0));
+        assertThat(metrics.toString(), startsWith("SOLVE: count=10, throughput="));
+    }
+
+    /**
+     * Validates that resetting the metrics discards the recorded executions
+     *
+     * @see StageMetrics#reset()
+     */
+    @Test
+    public void testReset() {
+        metrics.record(1_000);
+        metrics.reset();
+
+        assertThat(metrics.getCount(), is(0L));
+        assertThat(metrics.getP99Nanos(), is(0L));
+        assertThat(metrics.getThroughput(), is(0.0));
+    }
+}
@@ -0,0 +1,80 @@
+package com.mobiquityinc.model;
+
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link PackBuilder} class.
+ *
+ * @see PackBuilder
+ */
+public class PackBuilderTest {
+    private final PackProblem problem = new PackProblem(5000, new int[]{3, 1, 2}, new int[]{1000, 2050, 3000}, new int[]{100, 200, 300});
+
+    /**
+     * Validates that the totals are kept in hundredths while items are added and removed, each item being counted only once
+     *
+     * @see PackBuilder#add(int)
+     * @see PackBuilder#remove(int)
+     */
+    @Test
+    public void testAddRemove() {
+        PackBuilder builder = new PackBuilder(problem).add(0).add(2).add(0);
+
+        assertThat(builder.size(), is(2));
+        assertThat(builder.getWeight(), is(4000L));
+        assertThat(builder.getCost(), is(400L));
+        assertThat(builder.fits(), is(true));
+
+        builder.remove(0).remove(0).add(1);
+
+        assertThat(builder.contains(0), is(false));
+        assertThat(builder.getWeight(), is(5050L));
+        assertThat(builder.getCost(), is(500L));
+        assertThat(builder.fits(), is(false));
+    }
+
+    /**
+     * Validates that the built pack contains the chosen items ordered by index, and isn't affected by later changes to the builder
+     *
+     * @see PackBuilder#build()
+     */
+    @Test
+    public void testBuild() {
+        BitSet chosen = new BitSet();
+        chosen.set(0, 2);
+        PackBuilder builder = new PackBuilder(problem).addAll(chosen);
+
+        Pack pack = builder.build();
+        builder.clear().add(2);
+
+        assertThat(pack.toString(), equalTo("1,3"));
+        assertThat(pack.getWeight(), comparesEqualTo(new BigDecimal("30.50")));
+        assertThat(pack.getCost(), comparesEqualTo(BigDecimal.valueOf(3)));
+        assertThat(builder.build().toString(), equalTo("2"));
+        assertThat(builder.getChosen().cardinality(), is(1));
+    }
+
+    /**
+     * Validates that the totals of every dimension are kept, and summed into the extra weights of the built pack
+     *
+     * @see PackBuilder#getWeight(int)
+     * @see PackBuilder#build()
+     */
+    @Test
+    public void testBuildSeveralDimensions() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500}, 2, new int[]{1, 2}, new int[]{100, 200, 300, 350}, new int[]{10, 20});
+        PackBuilder builder = new PackBuilder(problem).add(0).add(1);
+
+        assertThat(builder.getWeight(1), is(550L));
+        assertThat(builder.fits(), is(false));
+        assertThat(builder.build().getExtraWeights(), equalTo(new int[]{550}));
+    }
+}
@@ -0,0 +1,173 @@
+package com.mobiquityinc.model;
+
+import com.mobiquityinc.exception.APIException;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.BitSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link PackProblem} class.
+ *
+ * @see PackProblem
+ */
+public class PackProblemTest {
+    /**
+     * Validates that a Pack is converted into hundredths
+     *
+     * @see PackProblem#of(Pack)
+     */
+    @Test
+    public void testOf() {
+        PackProblem problem = PackProblem.of(pack("16", "0",
+                item(1, "16.20", "27"),
+                item(2, "10.4", "78.05")));
+
+        assertThat(problem.getCapacity(), is(1600));
+        assertThat(problem.size(), is(2));
+        assertThat(problem.getIndices(), equalTo(new int[]{1, 2}));
+        assertThat(problem.getWeights(), equalTo(new int[]{1620, 1040}));
+        assertThat(problem.getCosts(), equalTo(new int[]{2700, 7805}));
+    }
+
+    /**
+     * Validates that values with more than two decimal places are rejected
+     *
+     * @see PackProblem#of(Pack)
+     */
+    @Test(expected = APIException.class)
+    public void testOfInvalidPrecision() {
+        PackProblem.of(pack("8", "0", item(1, "1.001", "34")));
+    }
+
+    /**
+     * Validates that only the chosen items are converted back, ordered by index and summing their weights and costs
+     *
+     * @see PackProblem#toPack(BitSet)
+     */
+    @Test
+    public void testToPack() {
+        PackProblem problem = new PackProblem(5000, new int[]{3, 1, 2}, new int[]{1000, 2050, 3000}, new int[]{100, 200, 300});
+        BitSet chosen = new BitSet();
+        chosen.set(0);
+        chosen.set(1);
+
+        Pack pack = problem.toPack(chosen);
+
+        assertThat(pack.toString(), equalTo("1,3"));
+        assertThat(pack.getWeight(), comparesEqualTo(new BigDecimal("30.50")));
+        assertThat(pack.getCost(), comparesEqualTo(BigDecimal.valueOf(3)));
+    }
+
+    /**
+     * Validates that a solution without chosen items is converted into an empty Pack
+     *
+     * @see PackProblem#toPack(BitSet)
+     */
+    @Test
+    public void testToPackEmpty() {
+        PackProblem problem = new PackProblem(5000, new int[]{1}, new int[]{1000}, new int[]{100});
+
+        assertThat(problem.toPack(new BitSet()).toString(), equalTo("-"));
+    }
+
+    /**
+     * Validates that the capacities of a pack with several packs are kept through the compact representation
+     *
+     * @see PackProblem#of(Pack)
+     * @see PackProblem#toPack()
+     */
+    @Test
+    public void testOfSeveralPacks() {
+        Pack pack = pack("10", "0", item(1, "5", "3"));
+        pack.getCapacities().add(new BigDecimal("10"));
+        pack.getCapacities().add(new BigDecimal("7.5"));
+
+        PackProblem problem = PackProblem.of(pack);
+
+        assertThat(problem.getCapacities(), equalTo(new int[]{1000, 750}));
+        assertThat(problem.toPack().getCapacities(), equalTo(pack.getCapacities().stream()
+                .map(capacity -> capacity.setScale(2)).collect(Collectors.toList())));
+    }
+
+    /**
+     * Validates that the items distributed across several packs are converted back into one pack each, ordered by index
+     *
+     * @see PackProblem#toPacks(int[])
+     */
+    @Test
+    public void testToPacks() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500, 300}, new int[]{3, 1, 2, 4},
+                new int[]{100, 200, 300, 400}, new int[]{10, 20, 30, 40});
+
+        List<Pack> packs = problem.toPacks(new int[]{0, 1, 0, -1});
+
+        assertThat(packs.size(), is(3));
+        assertThat(packs.get(0).toString(), equalTo("2,3"));
+        assertThat(packs.get(0).getWeight(), comparesEqualTo(new BigDecimal("4")));
+        assertThat(packs.get(1).toString(), equalTo("1"));
+        assertThat(packs.get(2).toString(), equalTo("-"));
+    }
+
+    /**
+     * Validates that the extra weights of a pack and its items are kept through the compact representation
+     *
+     * @see PackProblem#of(Pack)
+     * @see PackProblem#toPack()
+     */
+    @Test
+    public void testOfSeveralDimensions() {
+        Item item = item(1, "5", "3");
+        item.setExtraWeights(new int[]{150, 20});
+        Pack pack = pack("10", "0", item);
+        pack.setExtraWeights(new int[]{500, 60});
+
+        PackProblem problem = PackProblem.of(pack);
+
+        assertThat(problem.dimensions(), is(3));
+        assertThat(problem.getCapacities(), equalTo(new int[]{1000, 500, 60}));
+        assertThat(problem.getWeights(), equalTo(new int[]{500, 150, 20}));
+        assertThat(problem.toPack().getExtraWeights(), equalTo(new int[]{500, 60}));
+        assertThat(problem.toPack().getItems().get(0).getExtraWeights(), equalTo(new int[]{150, 20}));
+    }
+
+    /**
+     * Validates that items with a different amount of dimensions than the pack are rejected
+     *
+     * @see PackProblem#of(Pack)
+     */
+    @Test(expected = APIException.class)
+    public void testOfMismatchedDimensions() {
+        Pack pack = pack("10", "0", item(1, "5", "3"));
+        pack.setExtraWeights(new int[]{500});
+
+        PackProblem.of(pack);
+    }
+
+    /**
+     * Validates that the chosen items of a problem with several dimensions have their extra weights summed into the pack
+     *
+     * @see PackProblem#toPack(BitSet)
+     */
+    @Test
+    public void testToPackSeveralDimensions() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500}, 2, new int[]{1, 2},
+                new int[]{100, 200, 300, 150}, new int[]{10, 20});
+        BitSet chosen = new BitSet();
+        chosen.set(0, 2);
+
+        Pack pack = problem.toPack(chosen);
+
+        assertThat(pack.getWeight(), comparesEqualTo(new BigDecimal("4")));
+        assertThat(pack.getExtraWeights(), equalTo(new int[]{350}));
+    }
+}
@@ -12,6 +12,7 @@ import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.lessThan;
+import static org.junit.Assert.fail;
 
 /**
  * Test cases for validating the {@link Pack} class.
@@ -278,4 +279,100 @@ public class PackTest {
         assertThat(pack1.compareTo(pack2), lessThan(0));
         assertThat(pack2.compareTo(pack1), greaterThan(0));
     }
+
+    /**
+     * Validates that equal Packs with a different decimal digit count have the same hashcode
+     *
+     * @see Pack#hashCode()
+     */
+    @Test
+    public void testHashCodeDecimals() {
+        Pack pack1 = pack("10", "0", item(1, "10", "20"));
+        Pack pack2 = pack("10.0", "0.0", item(1, "10.0", "20.0"));
+
+        assertThat(pack1.hashCode() == pack2.hashCode(), is(true));
+    }
+
+    /**
+     * Validates that a snapshot is equal to a mutable Pack with the same items and totals, having the same hashcode
+     *
+     * @see Pack#equals(Object)
+     * @see Pack#hashCode()
+     */
+    @Test
+    public void testEqualsSnapshot() {
+        PackProblem problem = new PackProblem(5000, new int[]{1}, new int[]{1000}, new int[]{2000});
+        Pack snapshot = new PackBuilder(problem).add(0).build();
+        Pack pack = pack("0", "0");
+        pack.addItem(item(1, "10", "20"));
+
+        assertThat(snapshot.isSnapshot(), is(true));
+        assertThat(snapshot.equals(pack), is(true));
+        assertThat(pack.equals(snapshot), is(true));
+        assertThat(snapshot.hashCode() == pack.hashCode(), is(true));
+    }
+
+    /**
+     * Validates that the items of a snapshot can't be added
+     *
+     * @see Pack#addItem(Item)
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testAddItemSnapshot() {
+        PackProblem problem = new PackProblem(5000, new int[]{1}, new int[]{1000}, new int[]{2000});
+        new PackBuilder(problem).build().addItem(item(1, "10", "20"));
+    }
+
+    /**
+     * Validates that the totals of a snapshot can't be replaced
+     *
+     * @see Pack#setWeight(BigDecimal)
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSetWeightSnapshot() {
+        PackProblem problem = new PackProblem(5000, new int[]{1}, new int[]{1000}, new int[]{2000});
+        new PackBuilder(problem).build().setWeight(BigDecimal.ONE);
+    }
+
+    /**
+     * Validates that the items of a snapshot can't be changed either, so the cached hash code stays consistent with its items
+     *
+     * @see Item#setCost(BigDecimal)
+     */
+    @Test
+    public void testSetItemCostSnapshot() {
+        PackProblem problem = new PackProblem(5000, new int[]{1}, new int[]{1000}, new int[]{2000});
+        Pack snapshot = new PackBuilder(problem).add(0).build();
+        int hash = snapshot.hashCode();
+
+        try {
+            snapshot.getItems().get(0).setCost(BigDecimal.ONE);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertThat(snapshot.getItems().get(0).isSnapshot(), is(true));
+        }
+        assertThat(snapshot.hashCode(), is(hash));
+        assertThat(snapshot, equalTo(new PackBuilder(problem).add(0).build()));
+    }
+
+    /**
+     * Validates that changing the extra weights returned by a snapshot, or by any of its items, doesn't change it
+     *
+     * @see Item#getExtraWeights()
+     * @see Pack#getExtraWeights()
+     */
+    @Test
+    public void testExtraWeightsSnapshot() {
+        PackProblem problem = new PackProblem(new int[]{5000, 300}, 2, new int[]{1}, new int[]{1000, 150}, new int[]{2000});
+        Pack snapshot = new PackBuilder(problem).add(0).build();
+        int hash = snapshot.hashCode();
+
+        snapshot.getItems().get(0).getExtraWeights()[0] = 1;
+        snapshot.getExtraWeights()[0] = 1;
+
+        assertThat(snapshot.getItems().get(0).getExtraWeights()[0], is(150));
+        assertThat(snapshot.getExtraWeights()[0], is(150));
+        assertThat(snapshot.hashCode(), is(hash));
+        assertThat(snapshot, equalTo(new PackBuilder(problem).add(0).build()));
+    }
 }
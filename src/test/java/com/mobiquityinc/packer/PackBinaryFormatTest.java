@@ -0,0 +1,182 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+
+/**
+ * Test cases for validating the {@link PackBinaryFormat} class.
+ *
+ * @see PackBinaryFormat
+ * @see PackBinaryReader
+ * @see PackBinaryWriter
+ */
+public class PackBinaryFormatTest {
+    private static final List<String> LINES = Arrays.asList(
+            "81 : (1,53.38,€45) (2,88.6,€98.5) (3,78,€3.05)",
+            "8 :",
+            "10,5 : (1,6,€30) (2,5,€20)",
+            "10/5 : (1,3/4,€50) (2,3.5/3,€40)");
+
+    /**
+     * Tests if lines converted to the binary representation, with both encodings, are read into the same problems as the scanned lines
+     *
+     * @see PackBinaryFormat#toBinary(Stream, java.io.OutputStream, boolean)
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test
+    public void testRead() {
+        List<PackProblem> expected = LINES.stream().map(PackLineScanner::scan).collect(Collectors.toList());
+        for (boolean varint : new boolean[]{false, true}) {
+            List<PackProblem> problems = PackBinaryFormat.read(toBinary(LINES, varint)).collect(Collectors.toList());
+
+            assertThat(problems.size(), is(expected.size()));
+            for (int i = 0; i < problems.size(); i++) {
+                assertThat(problems.get(i).toPack(), equalTo(expected.get(i).toPack()));
+                assertThat(problems.get(i).getCapacities(), equalTo(expected.get(i).getCapacities()));
+            }
+        }
+    }
+
+    /**
+     * Tests if the varint encoding is smaller than the fixed one, and if reading doesn't change the position of the buffer
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test
+    public void testReadVarint() {
+        ByteBuffer fixed = toBinary(LINES, false);
+        ByteBuffer varint = toBinary(LINES, true);
+
+        assertThat(varint.remaining(), lessThan(fixed.remaining()));
+        assertThat(PackBinaryFormat.read(varint).count(), is((long) LINES.size()));
+        assertThat(varint.position(), is(0));
+    }
+
+    /**
+     * Tests if the binary representation is converted back into the same lines, in the normalized text representation
+     *
+     * @see PackBinaryFormat#toText(ByteBuffer, Appendable)
+     */
+    @Test
+    public void testToText() {
+        StringBuilder text = new StringBuilder();
+        PackBinaryFormat.toText(toBinary(LINES, true), text);
+
+        assertThat(text.toString(), equalTo("81 : (1,53.38,€45) (2,88.6,€98.5) (3,78,€3.05)\n"
+                + "8 :\n"
+                + "10,5 : (1,6,€30) (2,5,€20)\n"
+                + "10/5 : (1,3/4,€50) (2,3.5/3,€40)"));
+    }
+
+    /**
+     * Tests if solutions are written and converted into the same text representation of the results of the {@link PackProcessor}
+     *
+     * @see PackBinaryWriter#write(List)
+     * @see PackBinaryFormat#toText(ByteBuffer, Appendable)
+     */
+    @Test
+    public void testToTextSolutions() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackBinaryWriter writer = PackBinaryWriter.forSolutions(output, false);
+        writer.write(Collections.singletonList(pack("0", "0", item(2, "1", "1"), item(4, "1", "1"))));
+        writer.write(Arrays.asList(pack("0", "0"), pack("0", "0", item(3, "1", "1"))));
+
+        StringBuilder text = new StringBuilder();
+        PackBinaryFormat.toText(ByteBuffer.wrap(output.toByteArray()), text);
+        assertThat(text.toString(), equalTo("2,4\n-;3"));
+    }
+
+    /**
+     * Tests if buffers in little-endian order are read and converted in the same way as big-endian ones, since the format always
+     * defines the byte order
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     * @see PackBinaryFormat#toText(ByteBuffer, Appendable)
+     */
+    @Test
+    public void testReadLittleEndian() {
+        for (boolean varint : new boolean[]{false, true}) {
+            ByteBuffer buffer = toBinary(LINES, varint).order(ByteOrder.LITTLE_ENDIAN);
+            List<Pack> packs = PackBinaryFormat.read(buffer).map(PackProblem::toPack).collect(Collectors.toList());
+
+            assertThat(packs, equalTo(LINES.stream().map(PackLineScanner::scan).map(PackProblem::toPack).collect(Collectors.toList())));
+            assertThat(buffer.order(), is(ByteOrder.LITTLE_ENDIAN));
+        }
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackBinaryWriter.forSolutions(output, false).write(Collections.singletonList(pack("0", "0", item(2, "1", "1"))));
+        StringBuilder text = new StringBuilder();
+        PackBinaryFormat.toText(ByteBuffer.wrap(output.toByteArray()).order(ByteOrder.LITTLE_ENDIAN), text);
+        assertThat(text.toString(), equalTo("2"));
+    }
+
+    /**
+     * Tests the behavior of the reading when the buffer doesn't start with the magic number
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test(expected = APIException.class)
+    public void testReadNotBinary() {
+        PackBinaryFormat.read(ByteBuffer.wrap(LINES.get(0).getBytes()));
+    }
+
+    /**
+     * Tests the behavior of the reading when the buffer has solutions instead of packs
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test(expected = APIException.class)
+    public void testReadSolutions() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackBinaryWriter.forSolutions(output, false);
+        PackBinaryFormat.read(ByteBuffer.wrap(output.toByteArray()));
+    }
+
+    /**
+     * Tests the behavior of the reading when the last record is truncated, which is only detected when it is consumed
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test(expected = APIException.class)
+    public void testReadTruncated() {
+        ByteBuffer buffer = toBinary(LINES, false);
+        buffer.limit(buffer.limit() - 1);
+        PackBinaryFormat.read(buffer).count();
+    }
+
+    /**
+     * Tests the behavior of the reading when a record declares more items than it contains
+     *
+     * @see PackBinaryFormat#read(ByteBuffer)
+     */
+    @Test(expected = APIException.class)
+    public void testReadCorruptedCount() {
+        ByteBuffer buffer = toBinary(Collections.singletonList("8 : (1,1,€1)"), false);
+        buffer.putInt(PackBinaryFormat.HEADER_SIZE + 3 * Integer.BYTES, Integer.MAX_VALUE); // the item count, after the length prefix
+        PackBinaryFormat.read(buffer).count();
+    }
+
+    private static ByteBuffer toBinary(List<String> lines, boolean varint) {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackBinaryFormat.toBinary(lines.stream(), output, varint);
+        return ByteBuffer.wrap(output.toByteArray());
+    }
+}
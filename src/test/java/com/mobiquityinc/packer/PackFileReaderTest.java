@@ -3,19 +3,37 @@ package com.mobiquityinc.packer;
 import com.mobiquityinc.PackMocker;
 import com.mobiquityinc.exception.APIException;
 import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.mobiquityinc.PackMocker.item;
 import static com.mobiquityinc.PackMocker.pack;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.fail;
 
 /**
  * Test cases for validating the {@link PackFileReader} class.
@@ -25,6 +43,9 @@ import static org.hamcrest.Matchers.instanceOf;
 @RunWith(MockitoJUnitRunner.class)
 public class PackFileReaderTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @InjectMocks
     private PackFileReader fileReader;
 
@@ -91,4 +112,184 @@ public class PackFileReaderTest {
     public void testReadFileInvalid() {
         fileReader.readFile(PackMocker.INVALID_INPUT);
     }
+
+    /**
+     * Tests if the class can lazily read the contents of {@link PackMocker#VALID_INPUT}, with the same results of the eager reading
+     *
+     * @see PackFileReader#streamFile(String)
+     */
+    @Test
+    public void testStreamFile() {
+        try (Stream<PackProblem> packs = fileReader.streamFile(PackMocker.VALID_INPUT)) {
+            assertThat(packs.map(PackProblem::toPack).collect(Collectors.toList()), equalTo(fileReader.readFile(PackMocker.VALID_INPUT)));
+        }
+    }
+
+    /**
+     * Tests the behavior of the class when it receives as parameter a path to a tile that doesn't exist.
+     *
+     * @see PackFileReader#streamFile(String)
+     */
+    @Test
+    public void testStreamFileFileNotExists() {
+        try {
+            fileReader.streamFile("asdf");
+            fail();
+        } catch (Exception e) {
+            assertThat(e, instanceOf(APIException.class));
+            assertThat(e.getCause(), instanceOf(IOException.class));
+        }
+    }
+
+    /**
+     * Tests if the memory-mapped reading gives the same results of the streaming one, when the file spans several regions and chunks
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testStreamFileMapped() throws IOException {
+        File file = folder.newFile();
+        List<String> lines = Files.readAllLines(Paths.get("src/main/resources/input.txt"), StandardCharsets.UTF_8);
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+
+        fileReader.setMappingSizes(4096, 512);
+        List<Pack> mapped = readMapped(file.getPath());
+
+        try (Stream<PackProblem> packs = fileReader.streamFile(file.getPath())) {
+            assertThat(mapped, equalTo(packs.map(PackProblem::toPack).collect(Collectors.toList())));
+        }
+        assertThat(mapped.size(), equalTo(lines.size()));
+    }
+
+    /**
+     * Tests if the memory-mapped reading only submits the chunks needed to keep the maximum amount in flight, as the stream is consumed
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testStreamFileMappedInFlight() throws IOException {
+        File file = folder.newFile();
+        List<String> lines = Collections.nCopies(100, "16 : (1,16.20,€27) (2,10.44,€78)");
+        Files.write(file.toPath(), lines, StandardCharsets.UTF_8);
+        AtomicInteger submitted = new AtomicInteger();
+
+        fileReader.setMappingSizes(1024, 64);
+        try (Stream<PackProblem> packs = fileReader.streamFileMapped(file.getPath(), task -> {
+            submitted.incrementAndGet();
+            task.run();
+        }, 2)) {
+            Iterator<PackProblem> iterator = packs.iterator();
+            iterator.next();
+            assertThat(submitted.get(), lessThanOrEqualTo(3));
+
+            int count = 1;
+            while (iterator.hasNext()) {
+                iterator.next();
+                count++;
+            }
+            assertThat(count, equalTo(lines.size()));
+            assertThat(submitted.get(), greaterThan(3));
+        }
+    }
+
+    /**
+     * Tests if the memory-mapped reading handles files without a line feed after the last line
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testStreamFileMappedNoTrailingLineFeed() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "16 : (1,16.20,€27) (2,10.44,€78)\r\n76 : (1,67.12,€1) (2,19.36,€51)".getBytes(StandardCharsets.UTF_8));
+
+        assertThat(readMapped(file.getPath()), equalTo(fileReader.readFile(PackMocker.VALID_INPUT)));
+    }
+
+    /**
+     * Tests the behavior of the memory-mapped reading when a line doesn't fit in a region
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test(expected = APIException.class)
+    public void testStreamFileMappedLineTooLong() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "16 : (1,16.20,€27) (2,10.44,€78)\n8 :\n".getBytes(StandardCharsets.UTF_8));
+
+        fileReader.setMappingSizes(16, 16);
+        readMapped(file.getPath());
+    }
+
+    /**
+     * Test the behavior of the memory-mapped reading when it receives a file that is not valid.
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test(expected = APIException.class)
+    public void testStreamFileMappedInvalid() {
+        readMapped(PackMocker.INVALID_INPUT);
+    }
+
+    /**
+     * Tests if the errors of the memory-mapped reading report the same columns of the streaming one, counting multi-byte characters
+     * only once
+     *
+     * @see PackFileReader#streamFileMapped(String, java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testStreamFileMappedErrorColumn() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "16 : (1,16.20,€27) (2,€10.44,€78)\n".getBytes(StandardCharsets.UTF_8));
+
+        String expected = errorMessage(() -> {
+            try (Stream<PackProblem> packs = fileReader.streamFile(file.getPath())) {
+                packs.forEach(problem -> { });
+            }
+        });
+        assertThat(errorMessage(() -> readMapped(file.getPath())), equalTo(expected));
+        assertThat(expected, containsString("(column 23)"));
+    }
+
+    /**
+     * Tests if a file in the binary format, converted from {@link PackMocker#VALID_INPUT}, is read into the same packs
+     *
+     * @see PackFileReader#streamBinaryFile(String)
+     */
+    @Test
+    public void testStreamBinaryFile() throws IOException {
+        File file = folder.newFile();
+        try (Stream<String> lines = Files.lines(Paths.get(PackMocker.VALID_INPUT), StandardCharsets.UTF_8);
+             OutputStream output = Files.newOutputStream(file.toPath())) {
+            PackBinaryFormat.toBinary(lines, output, true);
+        }
+
+        try (Stream<PackProblem> packs = fileReader.streamBinaryFile(file.getPath())) {
+            assertThat(packs.map(PackProblem::toPack).collect(Collectors.toList()), equalTo(fileReader.readFile(PackMocker.VALID_INPUT)));
+        }
+    }
+
+    /**
+     * Test the behavior of the binary reading when it receives a text file.
+     *
+     * @see PackFileReader#streamBinaryFile(String)
+     */
+    @Test(expected = APIException.class)
+    public void testStreamBinaryFileText() {
+        fileReader.streamBinaryFile(PackMocker.VALID_INPUT);
+    }
+
+    private List<Pack> readMapped(String filePath) {
+        try (Stream<PackProblem> packs = fileReader.streamFileMapped(filePath, ForkJoinPool.commonPool(), 4)) {
+            return packs.map(PackProblem::toPack).collect(Collectors.toList());
+        }
+    }
+
+    private static String errorMessage(Runnable reading) {
+        try {
+            reading.run();
+            fail();
+            return null;
+        } catch (APIException e) {
+            return e.getMessage();
+        }
+    }
 }
@@ -0,0 +1,173 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.fail;
+
+/**
+ * Test cases for validating the {@link PackLineScanner} class.
+ *
+ * @see PackLineScanner
+ */
+public class PackLineScannerTest {
+    /**
+     * Tests if a line is parsed into hundredths
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScan() {
+        PackProblem problem = PackLineScanner.scan("81 : (1,53.38,€45) (2,88.6,€98.5) (3,78,€3.05)");
+
+        assertThat(problem.getCapacity(), is(8100));
+        assertThat(problem.getIndices(), equalTo(new int[]{1, 2, 3}));
+        assertThat(problem.getWeights(), equalTo(new int[]{5338, 8860, 7800}));
+        assertThat(problem.getCosts(), equalTo(new int[]{4500, 9850, 305}));
+    }
+
+    /**
+     * Tests if whitespace is allowed around the tokens, and if other currency symbols are accepted
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanWhitespace() {
+        PackProblem problem = PackLineScanner.scan("\t16.5:( 1 , 16.20 , $ 27 )(2,10.44,78)  ");
+
+        assertThat(problem.getCapacity(), is(1650));
+        assertThat(problem.getIndices(), equalTo(new int[]{1, 2}));
+        assertThat(problem.getWeights(), equalTo(new int[]{1620, 1044}));
+        assertThat(problem.getCosts(), equalTo(new int[]{2700, 7800}));
+    }
+
+    /**
+     * Tests if a line without items is parsed into an empty problem
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanNoItems() {
+        PackProblem problem = PackLineScanner.scan("8 :");
+
+        assertThat(problem.getCapacity(), is(800));
+        assertThat(problem.size(), is(0));
+    }
+
+    /**
+     * Tests if lists larger than the initial buffers are parsed
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanManyItems() {
+        StringBuilder line = new StringBuilder("100 :");
+        for (int i = 1; i <= 100; i++) {
+            line.append(" (").append(i).append(",1.00,€").append(i).append(')');
+        }
+
+        PackProblem problem = PackLineScanner.scan(line);
+
+        assertThat(problem.size(), is(100));
+        assertThat(problem.getCosts()[99], is(10000));
+    }
+
+    /**
+     * Tests if a line scanned after a larger one, reusing the same buffers, results only into its own items
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanAfterLargerLine() {
+        PackLineScanner.scan("100 : (1,1,€1) (2,2,€2) (3,3,€3) (4,4,€4) (5,5,€5)");
+
+        PackProblem problem = PackLineScanner.scan("8 : (7,1.5,€2)");
+
+        assertThat(problem.getIndices(), equalTo(new int[]{7}));
+        assertThat(problem.getWeights(), equalTo(new int[]{150}));
+        assertThat(problem.getCosts(), equalTo(new int[]{200}));
+    }
+
+    /**
+     * Tests if several maximum weights, separated by commas, are parsed as the capacities of different packs
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanSeveralPacks() {
+        PackProblem problem = PackLineScanner.scan("50 , 30.5,20: (1,16.20,€27)");
+
+        assertThat(problem.packCount(), is(3));
+        assertThat(problem.getCapacities(), equalTo(new int[]{5000, 3050, 2000}));
+        assertThat(problem.getIndices(), equalTo(new int[]{1}));
+    }
+
+    /**
+     * Tests if the amounts of several resources, separated by slashes, are parsed as the dimensions of the pack and its items
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanSeveralDimensions() {
+        PackProblem problem = PackLineScanner.scan("50/20.5 : (1,16.20/3,€27) (2, 10 / 4.5 ,€8)");
+
+        assertThat(problem.dimensions(), is(2));
+        assertThat(problem.packCount(), is(1));
+        assertThat(problem.getCapacities(), equalTo(new int[]{5000, 2050}));
+        assertThat(problem.getWeights(), equalTo(new int[]{1620, 300, 1000, 450}));
+        assertThat(problem.getCosts(), equalTo(new int[]{2700, 800}));
+    }
+
+    /**
+     * Tests the message and column of an invalid weight
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanInvalidWeight() {
+        assertError("ab : (1,16.20,€27)", "Could not determine weight for line: ab : (1,16.20,€27) (column 1)");
+        assertError("16.123 : (1,16.20,€27)", "Could not determine weight for line: 16.123 : (1,16.20,€27) (column 4)");
+        assertError("16 (1,16.20,€27)", "Could not determine weight for line: 16 (1,16.20,€27) (column 4)");
+        assertError("", "Could not determine weight for line:  (column 1)");
+        assertError("16, : (1,16.20,€27)", "Could not determine weight for line: 16, : (1,16.20,€27) (column 5)");
+        assertError("16/2,8 : (1,16.20,€27)", "Could not determine weight for line: 16/2,8 : (1,16.20,€27) (column 8)");
+    }
+
+    /**
+     * Tests the message and column of invalid items
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test
+    public void testScanInvalidItem() {
+        assertError("16 : (1,16.20,€27", "Could not parse item for line: 16 : (1,16.20,€27 (column 18)");
+        assertError("16/2 : (1,16.20,€27)", "Could not parse item for line: 16/2 : (1,16.20,€27) (column 16)");
+        assertError("16 : (1,16.2x,€27)", "Could not parse item for line: 16 : (1,16.2x,€27) (column 13)");
+        assertError("16 : (a,16.20,€27)", "Could not parse item for line: 16 : (a,16.20,€27) (column 7)");
+        assertError("16 : (1,16.20,€)", "Could not parse item for line: 16 : (1,16.20,€) (column 16)");
+        assertError("16 : (1,16.20,€27) x", "Could not parse item for line: 16 : (1,16.20,€27) x (column 20)");
+    }
+
+    /**
+     * Tests that values that can't be represented are rejected
+     *
+     * @see PackLineScanner#scan(CharSequence)
+     */
+    @Test(expected = APIException.class)
+    public void testScanOverflow() {
+        PackLineScanner.scan("99999999999 : (1,16.20,€27)");
+    }
+
+    private void assertError(String line, String message) {
+        try {
+            PackLineScanner.scan(line);
+            fail();
+        } catch (APIException e) {
+            assertThat(e.getMessage(), equalTo(message));
+        }
+    }
+}
@@ -1,21 +1,54 @@
 package com.mobiquityinc.packer;
 
 import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Item;
 import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import com.mobiquityinc.model.PackResult;
+import com.mobiquityinc.solver.MeetInTheMiddlePackSolver;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.Collections;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 import java.util.stream.IntStream;
 
 import static com.mobiquityinc.PackMocker.item;
 import static com.mobiquityinc.PackMocker.pack;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.when;
 
@@ -27,6 +60,9 @@ import static org.mockito.Mockito.when;
 @RunWith(MockitoJUnitRunner.class)
 public class PackProcessorTest {
 
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
     @Mock
     private PackFileReader fileReaderMock;
     @InjectMocks
@@ -165,4 +201,480 @@ public class PackProcessorTest {
 
         packProcessor.processFile("");
     }
+
+    /**
+     * Tests that the package max item count can be raised
+     *
+     * @see PackProcessor#setMaxItemsPerList(int)
+     */
+    @Test
+    public void testProcessFileMaxItemsPerList() {
+        List<Pack> packs = Collections.singletonList(
+                pack("2", "0", IntStream.range(0, 40)
+                        .mapToObj(i -> item(i + 1, "1.00", String.valueOf(i + 1)))
+                        .toArray(Item[]::new)));
+
+        when(fileReaderMock.readFile(anyString()))
+                .thenReturn(packs);
+
+        packProcessor.setMaxItemsPerList(40);
+        packProcessor.setSolver(new MeetInTheMiddlePackSolver());
+        String result = packProcessor.processFile("");
+        assertThat(result, equalTo("39,40"));
+    }
+
+    /**
+     * Validates that the streaming processing writes one line for each pack
+     *
+     * @see PackProcessor#processFile(String, Appendable)
+     */
+    @Test
+    public void testProcessFileStreaming() {
+        when(fileReaderMock.streamFile(anyString()))
+                .thenReturn(Stream.of(
+                        pack("13", "0",
+                                item(1, "18.00", "38"),
+                                item(2, "8.00", "93"),
+                                item(3, "12.00", "75"),
+                                item(4, "15.00", "88"),
+                                item(5, "8.00", "62"),
+                                item(6, "5.00", "30")),
+                        pack("8", "0", item(1, "15.3", "34")),
+                        pack("86", "0",
+                                item(1, "30.00", "74"),
+                                item(2, "74.00", "79"),
+                                item(3, "35.00", "51"),
+                                item(4, "12.00", "95")))
+                        .map(PackProblem::of));
+
+        StringBuilder output = new StringBuilder();
+        packProcessor.processFile("", output);
+        assertThat(output.toString(), equalTo("2,6\n-\n1,3,4"));
+    }
+
+    /**
+     * Validates that the memory-mapped processing writes one line for each pack of the mapped stream
+     *
+     * @see PackProcessor#processMappedFile(String, Appendable)
+     */
+    @Test
+    public void testProcessMappedFile() {
+        when(fileReaderMock.streamFileMapped(anyString(), any(), anyInt()))
+                .thenReturn(Stream.of(
+                        pack("8", "0", item(1, "15.3", "34")),
+                        pack("86", "0",
+                                item(1, "30.00", "74"),
+                                item(2, "74.00", "79"),
+                                item(3, "35.00", "51"),
+                                item(4, "12.00", "95")))
+                        .map(PackProblem::of));
+
+        StringBuilder output = new StringBuilder();
+        packProcessor.processMappedFile("", output);
+        assertThat(output.toString(), equalTo("-\n1,3,4"));
+    }
+
+    /**
+     * Validates that the processing into a sink writes the same lines of the processing into a String
+     *
+     * @see PackProcessor#processFile(String, PackResultSink)
+     */
+    @Test
+    public void testProcessFileSink() {
+        when(fileReaderMock.streamFile(anyString()))
+                .thenReturn(Stream.of(
+                        pack("8", "0", item(1, "15.3", "34")),
+                        pack("86", "0",
+                                item(1, "30.00", "74"),
+                                item(2, "74.00", "79"),
+                                item(3, "35.00", "51"),
+                                item(4, "12.00", "95")))
+                        .map(PackProblem::of));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        packProcessor.processFile("", PackResultSink.toStream(output));
+        assertThat(output.toString(), equalTo("-\n1,3,4"));
+    }
+
+    /**
+     * Tests that the streaming processing validates each of the packs
+     *
+     * @see PackProcessor#processFile(String, Appendable)
+     */
+    @Test(expected = APIException.class)
+    public void testProcessFileStreamingValidatePackWeight() {
+        when(fileReaderMock.streamFile(anyString()))
+                .thenReturn(Stream.of(PackProblem.of(pack("101", "0", item(1, "1.00", "1")))));
+
+        packProcessor.processFile("", new StringBuilder());
+    }
+
+    /**
+     * Validates that the parallel processing writes the same results of the sequential one, in the input order
+     *
+     * @see PackProcessor#setExecutor(java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testProcessFileParallel() {
+        Random random = new Random(42);
+        List<Pack> packs = IntStream.range(0, 500)
+                .mapToObj(i -> pack(String.valueOf(random.nextInt(101)), "0", IntStream.range(0, 15)
+                        .mapToObj(j -> item(j + 1, random.nextInt(100) + "." + random.nextInt(10), String.valueOf(random.nextInt(101))))
+                        .toArray(Item[]::new)))
+                .collect(Collectors.toList());
+        when(fileReaderMock.streamFile(anyString()))
+                .thenAnswer(invocation -> packs.stream().map(PackProblem::of));
+
+        StringBuilder sequential = new StringBuilder();
+        packProcessor.processFile("", sequential);
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            StringBuilder parallel = new StringBuilder();
+            packProcessor.setExecutor(pool, 8);
+            packProcessor.processFile("", parallel);
+
+            assertThat(parallel.toString(), equalTo(sequential.toString()));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Tests that the errors of the packs solved concurrently are propagated
+     *
+     * @see PackProcessor#setExecutor(java.util.concurrent.Executor, int)
+     */
+    @Test(expected = APIException.class)
+    public void testProcessFileParallelValidatePackWeight() {
+        when(fileReaderMock.streamFile(anyString()))
+                .thenReturn(Stream.of(pack("1", "0", item(1, "1.00", "1")), pack("101", "0", item(1, "1.00", "1")))
+                        .map(PackProblem::of));
+
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try {
+            packProcessor.setExecutor(pool, 2);
+            packProcessor.processFile("", new StringBuilder());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Validates that the packs read before an invalid line are still written when they are solved concurrently, as in the sequential mode
+     *
+     * @see PackProcessor#setExecutor(java.util.concurrent.Executor, int)
+     */
+    @Test
+    public void testProcessFileParallelWritesBeforeInvalidLine() {
+        when(fileReaderMock.streamFile(anyString()))
+                .thenReturn(Stream.of("16 : (1,16.20,€27) (2,10.44,€78)", "8 :", "ab : (1,16.20,€27)").map(PackLineScanner::scan));
+        StringBuilder output = new StringBuilder();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            packProcessor.setExecutor(pool, 4);
+            packProcessor.processFile("", output);
+            fail("The invalid line should have been reported");
+        } catch (APIException e) {
+            assertThat(output.toString(), equalTo("2\n-"));
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Validates that binary files are solved into solution records, matching the results of the text files
+     *
+     * @see PackProcessor#processBinaryFile(String, java.io.OutputStream, boolean)
+     */
+    @Test
+    public void testProcessBinaryFile() throws IOException {
+        File file = folder.newFile();
+        try (OutputStream output = Files.newOutputStream(file.toPath())) {
+            PackBinaryFormat.toBinary(Stream.of("8 : (1,15.3,€34)", "16 : (1,16.20,€27) (2,10.44,€78)", "10,5 : (1,6,€30) (2,5,€20)"),
+                    output, false);
+        }
+        when(fileReaderMock.streamBinaryFile(anyString()))
+                .thenAnswer(invocation -> new PackFileReader().streamBinaryFile(invocation.getArgument(0)));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        packProcessor.processBinaryFile(file.getPath(), output, true);
+
+        StringBuilder text = new StringBuilder();
+        PackBinaryFormat.toText(ByteBuffer.wrap(output.toByteArray()), text);
+        assertThat(text.toString(), equalTo("-\n2\n1;2"));
+    }
+
+    /**
+     * Validates that lines not read from a file are parsed with the file reader and solved
+     *
+     * @see PackProcessor#processLines(Stream, Appendable)
+     */
+    @Test
+    public void testProcessLines() {
+        when(fileReaderMock.parseLine(anyString()))
+                .thenAnswer(invocation -> PackLineScanner.scan(invocation.getArgument(0)));
+
+        StringBuilder output = new StringBuilder();
+        packProcessor.processLines(Stream.of("8 : (1,15.3,€34)", "16 : (1,16.20,€27) (2,10.44,€78)"), output);
+        assertThat(output.toString(), equalTo("-\n2"));
+    }
+
+    /**
+     * Validates that the items of lines declaring several packs are distributed across them, having each pack separated by semicolons
+     *
+     * @see PackProcessor#processLines(Stream, Appendable)
+     */
+    @Test
+    public void testProcessLinesSeveralPacks() {
+        when(fileReaderMock.parseLine(anyString()))
+                .thenAnswer(invocation -> PackLineScanner.scan(invocation.getArgument(0)));
+
+        StringBuilder output = new StringBuilder();
+        packProcessor.processLines(Stream.of("10,5 : (1,6,€30) (2,5,€20) (3,4,€20) (4,5,€15)", "3,4 : (1,5,€10)"), output);
+        assertThat(output.toString(), equalTo("1,3;2\n-;-"));
+    }
+
+    /**
+     * Validates that every pack of a line is checked against the maximum weight
+     *
+     * @see PackProcessor#processLines(Stream, Appendable)
+     */
+    @Test(expected = APIException.class)
+    public void testProcessLinesSeveralPacksInvalidWeight() {
+        when(fileReaderMock.parseLine(anyString()))
+                .thenAnswer(invocation -> PackLineScanner.scan(invocation.getArgument(0)));
+
+        packProcessor.processLines(Stream.of("10,101 : (1,6,€30)"), new StringBuilder());
+    }
+
+    /**
+     * Validates that lines limiting several resources take all of them into account
+     *
+     * @see PackProcessor#processLines(Stream, Appendable)
+     */
+    @Test
+    public void testProcessLinesSeveralDimensions() {
+        when(fileReaderMock.parseLine(anyString()))
+                .thenAnswer(invocation -> PackLineScanner.scan(invocation.getArgument(0)));
+
+        StringBuilder output = new StringBuilder();
+        packProcessor.processLines(Stream.of("10/5 : (1,3/4,€50) (2,3/3,€40) (3,5/1,€30) (4,5/1,€35)"), output);
+        assertThat(output.toString(), equalTo("1,4"));
+    }
+
+    /**
+     * Validates that lines declaring several packs, each limiting several resources, are rejected
+     *
+     * @see PackProcessor#processLines(Stream, Appendable)
+     */
+    @Test(expected = APIException.class)
+    public void testProcessLinesSeveralPacksAndDimensions() {
+        when(fileReaderMock.parseLine(anyString()))
+                .thenAnswer(invocation -> PackLineScanner.scan(invocation.getArgument(0)));
+
+        packProcessor.processLines(Stream.of("10/5,8/4 : (1,3/4,€50)"), new StringBuilder());
+    }
+
+    /**
+     * Validates that packs in memory are solved into structured results
+     *
+     * @see PackProcessor#solveAll(List)
+     */
+    @Test
+    public void testSolveAll() {
+        List<PackResult> results = packProcessor.solveAll(Arrays.asList(
+                pack("86", "0",
+                        item(1, "30.00", "74"),
+                        item(2, "74.00", "79"),
+                        item(3, "35.00", "51"),
+                        item(4, "12.00", "95")),
+                pack("8", "0", item(1, "15.3", "34"))));
+
+        assertThat(results.size(), equalTo(2));
+        assertThat(results.get(0).getItems(), equalTo(Arrays.asList(
+                item(1, "30.00", "74"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95"))));
+        assertThat(results.get(0).getTotalCost(), comparesEqualTo(BigDecimal.valueOf(220)));
+        assertThat(results.get(0).getTotalWeight(), comparesEqualTo(BigDecimal.valueOf(77)));
+        assertThat(results.get(0).getSolveTime(), notNullValue());
+        assertThat(results.get(1).getItems().isEmpty(), equalTo(true));
+        assertThat(results.get(1).getTotalCost(), comparesEqualTo(BigDecimal.ZERO));
+    }
+
+    /**
+     * Validates that, in the approximate mode, the results report an upper bound of the optimum, while exact solvers report their own cost
+     *
+     * @see PackProcessor#setApproximation(double)
+     * @see PackProcessor#solveAll(List)
+     */
+    @Test
+    public void testSolveAllApproximation() {
+        Pack pack = pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95"));
+
+        PackResult exact = packProcessor.solveAll(Collections.singletonList(pack)).get(0);
+        packProcessor.setApproximation(0.1);
+        PackResult approximate = packProcessor.solveAll(Collections.singletonList(pack)).get(0);
+
+        assertThat(exact.getUpperBound(), comparesEqualTo(exact.getTotalCost()));
+        assertThat(approximate.getTotalCost().doubleValue(), greaterThanOrEqualTo(0.9 * 220));
+        assertThat(approximate.getUpperBound(), greaterThanOrEqualTo(BigDecimal.valueOf(220)));
+    }
+
+    /**
+     * Validates that the alternatives of a pack are solved into results from the best to the worst, the first one being the same result
+     * of the single best solution
+     *
+     * @see PackProcessor#solveTopK(Pack, int)
+     */
+    @Test
+    public void testSolveTopK() {
+        Pack pack = pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95"));
+
+        List<PackResult> results = packProcessor.solveTopK(pack, 3);
+
+        assertThat(results.size(), equalTo(3));
+        assertThat(results.get(0).getItems(), equalTo(packProcessor.solveAll(Collections.singletonList(pack)).get(0).getItems()));
+        assertThat(results.stream().map(result -> result.getTotalCost().intValue()).collect(Collectors.toList()),
+                equalTo(Arrays.asList(220, 174, 169)));
+    }
+
+    /**
+     * Validates that the alternatives of a pack are validated in the same way as single results
+     *
+     * @see PackProcessor#solveTopK(Pack, int)
+     */
+    @Test(expected = APIException.class)
+    public void testSolveTopKValidatePackWeight() {
+        packProcessor.solveTopK(pack("101", "0", item(1, "1.00", "1")), 2);
+    }
+
+    /**
+     * Validates that packs solved asynchronously have the same results of the synchronous ones
+     *
+     * @see PackProcessor#solveAsync(Pack, Duration)
+     * @see PackProcessor#solveAllAsync(List, Duration)
+     */
+    @Test
+    public void testSolveAsync() {
+        Pack pack = pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95"));
+
+        PackResult result = packProcessor.solveAsync(pack, Duration.ofMinutes(1)).join();
+        List<PackResult> results = packProcessor.solveAllAsync(Arrays.asList(pack, pack), Duration.ofMinutes(1)).join();
+
+        assertThat(result.getTotalCost(), comparesEqualTo(BigDecimal.valueOf(220)));
+        assertThat(result.getUpperBound(), comparesEqualTo(BigDecimal.valueOf(220)));
+        assertThat(results.size(), equalTo(2));
+        assertThat(results.get(1).getTotalCost(), comparesEqualTo(BigDecimal.valueOf(220)));
+    }
+
+    /**
+     * Validates that packs whose deadline is over are still solved, with the best solution found so far and an upper bound for the
+     * optimum
+     *
+     * @see PackProcessor#solveAsync(Pack, Duration)
+     */
+    @Test
+    public void testSolveAsyncDeadline() {
+        Random random = new Random(42);
+        Pack pack = pack("100", "0", IntStream.rangeClosed(1, 200)
+                .mapToObj(i -> item(i, BigDecimal.valueOf(100 + random.nextInt(9000), 2).toPlainString(),
+                        String.valueOf(1 + random.nextInt(99))))
+                .toArray(Item[]::new));
+        packProcessor.setMaxItemsPerList(200);
+
+        PackResult result = packProcessor.solveAsync(pack, Duration.ZERO).join();
+
+        assertThat(result.getTotalWeight(), lessThanOrEqualTo(BigDecimal.valueOf(100)));
+        assertThat(result.getUpperBound(), greaterThanOrEqualTo(result.getTotalCost()));
+    }
+
+    /**
+     * Validates that invalid packs complete the future exceptionally
+     *
+     * @see PackProcessor#solveAsync(Pack, Duration)
+     */
+    @Test(expected = APIException.class)
+    public void testSolveAsyncInvalid() throws Throwable {
+        try {
+            packProcessor.solveAsync(pack("101", "0", item(1, "1.00", "1")), Duration.ofMinutes(1)).join();
+        } catch (CompletionException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Validates that cancelled batches are reported as such, and that their packs are not solved when their tasks only start after the
+     * cancellation
+     *
+     * @see PackProcessor#solveAllAsync(List, Duration)
+     */
+    @Test(expected = CancellationException.class)
+    public void testSolveAllAsyncCancelled() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicInteger solved = new AtomicInteger();
+        packProcessor.setExecutor(tasks::add, 1);
+        packProcessor.setAnytimeSolver((problem, stop) -> {
+            solved.incrementAndGet();
+            return new BitSet();
+        });
+        CompletableFuture<List<PackResult>> results = packProcessor.solveAllAsync(
+                Collections.singletonList(pack("8", "0", item(1, "15.3", "34"))), Duration.ofMinutes(1));
+
+        results.cancel(true);
+        tasks.forEach(Runnable::run); // only run after the cancellation, so the pack can't be solved first
+        assertThat(solved.get(), equalTo(0));
+        results.join();
+    }
+
+    /**
+     * Validates that cancelling a batch while one of its packs is being solved stops the solver at its next check
+     *
+     * @see PackProcessor#solveAllAsync(List, Duration)
+     */
+    @Test(expected = CancellationException.class)
+    public void testSolveAllAsyncCancelledWhileSolving() {
+        List<Runnable> tasks = new ArrayList<>();
+        AtomicReference<CompletableFuture<List<PackResult>>> batch = new AtomicReference<>();
+        List<Boolean> stops = new ArrayList<>();
+        packProcessor.setExecutor(tasks::add, 1);
+        packProcessor.setAnytimeSolver((problem, stop) -> {
+            stops.add(stop.getAsBoolean());
+            batch.get().cancel(true);
+            stops.add(stop.getAsBoolean());
+            return new BitSet();
+        });
+        batch.set(packProcessor.solveAllAsync(
+                Collections.singletonList(pack("8", "0", item(1, "15.3", "34"))), Duration.ofMinutes(1)));
+
+        tasks.forEach(Runnable::run);
+        assertThat(stops, equalTo(Arrays.asList(false, true)));
+        batch.get().join();
+    }
+
+    /**
+     * Tests that packs in memory are validated
+     *
+     * @see PackProcessor#solveAll(Stream)
+     */
+    @Test(expected = APIException.class)
+    public void testSolveAllValidatePackWeight() {
+        packProcessor.solveAll(Stream.of(pack("101", "0", item(1, "1.00", "1"))))
+                .forEach(result -> {
+                });
+    }
 }
@@ -0,0 +1,97 @@
+package com.mobiquityinc.packer;
+
+import com.mobiquityinc.model.Pack;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.StringJoiner;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test cases for validating the {@link PackResultSink} class.
+ *
+ * @see PackResultSink
+ */
+public class PackResultSinkTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * Tests if solutions with one or several packs, with or without items, are written in the same format of {@link Pack#toString()}
+     *
+     * @see PackResultSink#write(java.util.List)
+     * @see PackResultSink#write(Pack)
+     */
+    @Test
+    public void testWrite() {
+        PackResultSink sink = PackResultSink.inMemory();
+        sink.write(pack("10", "0", item(3, "1", "1"), item(10, "1", "1"), item(2147483647, "1", "1")));
+        sink.write(pack("10", "0"));
+        sink.write(Arrays.asList(pack("10", "0", item(1, "1", "1"), item(-42, "1", "1")), pack("10", "0")));
+        sink.write(Collections.singletonList(pack("10", "0", item(0, "1", "1"))));
+
+        assertThat(sink.toString(), equalTo("3,10,2147483647\n-\n1,-42;-\n0"));
+    }
+
+    /**
+     * Tests if solutions larger than the buffer are written in full, in the same order
+     *
+     * @see PackResultSink#write(Pack)
+     */
+    @Test
+    public void testWriteLargerThanBuffer() {
+        PackResultSink sink = PackResultSink.inMemory();
+        StringJoiner expected = new StringJoiner("\n");
+        for (int i = 0; i < 5000; i++) {
+            Pack pack = pack("10", "0", item(i, "1", "1"), item(i * 1000, "1", "1"));
+            sink.write(pack);
+            expected.add(pack.toString());
+        }
+
+        assertThat(sink.toString(), equalTo(expected.toString()));
+    }
+
+    /**
+     * Tests if the file sink writes the solutions to the file when closed
+     *
+     * @see PackResultSink#toFile(String)
+     */
+    @Test
+    public void testToFile() throws IOException {
+        File file = folder.newFile();
+        try (PackResultSink sink = PackResultSink.toFile(file.getPath())) {
+            sink.write(pack("10", "0", item(1, "1", "1")));
+            sink.write(pack("10", "0"));
+        }
+
+        assertThat(new String(Files.readAllBytes(file.toPath()), StandardCharsets.US_ASCII), equalTo("1\n-"));
+    }
+
+    /**
+     * Tests if the stream sink only writes the buffered solutions to the stream when flushed
+     *
+     * @see PackResultSink#toStream(java.io.OutputStream)
+     */
+    @Test
+    public void testToStream() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PackResultSink sink = PackResultSink.toStream(output);
+        sink.write(pack("10", "0", item(7, "1", "1")));
+
+        assertThat(output.size(), equalTo(0));
+        sink.flush();
+        assertThat(output.toString(), equalTo("7"));
+    }
+}
@@ -0,0 +1,166 @@
+package com.mobiquityinc.packer;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.InetAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Handler;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link PackServer} class.
+ *
+ * @see PackServer
+ */
+public class PackServerTest {
+    private PackServer server;
+
+    @Before
+    public void setUp() {
+        server = new PackServer(new PackProcessor(), 0, 2);
+        server.start();
+    }
+
+    @After
+    public void tearDown() {
+        server.stop(0);
+    }
+
+    /**
+     * Tests if a batch of lines is solved, with one line of indexes for each of them
+     */
+    @Test
+    public void testPack() throws IOException {
+        HttpURLConnection connection = post("16 : (1,16.20,€27) (2,10.44,€78)\n\n81 : (1,53.38,€45) (2,88.62,€98) (3,78.48,€3)\n");
+
+        assertThat(connection.getResponseCode(), is(200));
+        assertThat(read(connection.getInputStream()), equalTo("2\n1\n"));
+    }
+
+    /**
+     * Tests if the same server handles several requests
+     */
+    @Test
+    public void testPackMultipleRequests() throws IOException {
+        for (int i = 0; i < 10; i++) {
+            HttpURLConnection connection = post("8 : (1,15.3,€34)");
+
+            assertThat(connection.getResponseCode(), is(200));
+            assertThat(read(connection.getInputStream()), equalTo("-\n"));
+        }
+    }
+
+    /**
+     * Tests if invalid packs result into a bad request, containing the error message
+     */
+    @Test
+    public void testPackInvalid() throws IOException {
+        HttpURLConnection connection = post("ab : (1,16.20,€27)");
+
+        assertThat(connection.getResponseCode(), is(400));
+        assertThat(read(connection.getErrorStream()), containsString("Could not determine weight for line: ab : (1,16.20,€27)"));
+    }
+
+    /**
+     * Tests if unexpected failures while solving the packs result into an internal server error, instead of a dropped connection
+     */
+    @Test
+    public void testPackFailure() throws IOException {
+        PackProcessor processor = new PackProcessor();
+        processor.setSolver(problem -> {
+            throw new IllegalStateException("Unexpected failure");
+        });
+        server.stop(0);
+        server = new PackServer(processor, 0, 1);
+        server.start();
+
+        HttpURLConnection connection = post("8 : (1,15.3,€34)");
+
+        assertThat(connection.getResponseCode(), is(500));
+        assertThat(read(connection.getErrorStream()), equalTo("Could not process the request"));
+    }
+
+    /**
+     * Tests if the port logged when the server starts is not formatted with digit grouping
+     */
+    @Test
+    public void testStartLogsPort() {
+        List<LogRecord> records = new ArrayList<>();
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                records.add(record);
+            }
+
+            @Override
+            public void flush() {
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        Logger logger = Logger.getLogger(PackServer.class.getName());
+        logger.addHandler(handler);
+        server.stop(0);
+        server = new PackServer(new PackProcessor(), 0, 1);
+        try {
+            server.start();
+        } finally {
+            logger.removeHandler(handler);
+        }
+
+        assertThat(new SimpleFormatter().formatMessage(records.get(0)), equalTo("Listening on port " + server.getPort()));
+    }
+
+    /**
+     * Tests if requests with other methods are rejected
+     */
+    @Test
+    public void testPackGet() throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+
+        assertThat(connection.getResponseCode(), is(405));
+    }
+
+    private URL url() throws IOException {
+        return new URL("http", InetAddress.getLoopbackAddress().getHostAddress(), server.getPort(), PackServer.PATH);
+    }
+
+    private HttpURLConnection post(String body) throws IOException {
+        HttpURLConnection connection = (HttpURLConnection) url().openConnection();
+        connection.setRequestMethod("POST");
+        connection.setDoOutput(true);
+        try (OutputStream output = connection.getOutputStream()) {
+            output.write(body.getBytes(StandardCharsets.UTF_8));
+        }
+        return connection;
+    }
+
+    private String read(InputStream input) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        byte[] buffer = new byte[1024];
+        for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+            result.write(buffer, 0, read);
+        }
+        input.close();
+        return new String(result.toByteArray(), StandardCharsets.UTF_8);
+    }
+}
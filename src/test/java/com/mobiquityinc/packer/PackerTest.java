@@ -1,10 +1,26 @@
 package com.mobiquityinc.packer;
 
 import com.mobiquityinc.PackMocker;
+import com.mobiquityinc.model.PackResult;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Collections;
+import java.util.List;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
 import static org.junit.Assert.fail;
 
 /**
@@ -14,6 +30,8 @@ import static org.junit.Assert.fail;
  */
 @RunWith(MockitoJUnitRunner.class)
 public class PackerTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     /**
      * Tests if the application handles all its exceptions internally.
@@ -43,6 +61,27 @@ public class PackerTest {
         }
     }
 
+    /**
+     * Tests if the application writes the resolutions to the standard output, including the ones solved before an invalid line.
+     *
+     * @see Packer#main(String[])
+     */
+    @Test
+    public void testMainStdout() throws IOException {
+        File file = folder.newFile();
+        Files.write(file.toPath(), "16 : (1,16.20,€27) (2,10.44,€78)\n8 :\nab : (1,16.20,€27)\n".getBytes(StandardCharsets.UTF_8));
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        PrintStream stdout = System.out;
+        System.setOut(new PrintStream(output, true));
+        try {
+            Packer.main(new String[]{file.getPath()});
+        } finally {
+            System.setOut(stdout);
+        }
+
+        assertThat(output.toString(), equalTo("2\n-"));
+    }
+
     /**
      * Tests if the application handles all its exceptions internally.
      *
@@ -56,4 +95,30 @@ public class PackerTest {
             fail(e.getMessage());
         }
     }
+
+    /**
+     * Tests if the streaming entry point writes the same resolutions returned by the String one.
+     *
+     * @see Packer#pack(String, Appendable)
+     */
+    @Test
+    public void testPackStreaming() {
+        StringBuilder output = new StringBuilder();
+        Packer.pack(PackMocker.VALID_INPUT, output);
+
+        assertThat(output.toString(), equalTo(Packer.pack(PackMocker.VALID_INPUT)));
+    }
+
+    /**
+     * Tests if the in-memory entry point returns the chosen items of each pack.
+     *
+     * @see Packer#pack(List)
+     */
+    @Test
+    public void testPackInMemory() {
+        List<PackResult> results = Packer.pack(Collections.singletonList(
+                pack("16", "0", item(1, "16.20", "27"), item(2, "10.44", "78"))));
+
+        assertThat(results.get(0).getItems(), equalTo(Collections.singletonList(item(2, "10.44", "78"))));
+    }
 }
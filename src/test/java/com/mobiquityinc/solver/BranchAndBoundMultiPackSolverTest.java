@@ -0,0 +1,129 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.Random;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link BranchAndBoundMultiPackSolver} class.
+ *
+ * @see BranchAndBoundMultiPackSolver
+ */
+public class BranchAndBoundMultiPackSolverTest {
+    private final MultiPackSolver solver = new BranchAndBoundMultiPackSolver();
+
+    /**
+     * Basic validation for the distribution of the items, where solving each pack in turn would leave the best item for the second pack
+     * in the first one
+     *
+     * @see BranchAndBoundMultiPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500}, new int[]{1, 2, 3, 4},
+                new int[]{600, 500, 400, 500}, new int[]{3000, 2000, 2000, 1500});
+
+        assertThat(solver.solve(problem), equalTo(new int[]{0, 1, 0, -1}));
+    }
+
+    /**
+     * Validates that, when more than one distribution has the same cost, the lightest one is chosen
+     *
+     * @see BranchAndBoundMultiPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLowestWeight() {
+        PackProblem problem = new PackProblem(new int[]{500, 500}, new int[]{1, 2, 3},
+                new int[]{500, 300, 100}, new int[]{1000, 1000, 0});
+
+        int[] assignment = solver.solve(problem);
+
+        assertThat(assignment[0] + assignment[1], equalTo(1));
+        assertThat(assignment[2], equalTo(-1));
+    }
+
+    /**
+     * Validates that the distributions found have the same cost and weight of the ones found by enumerating all of them
+     *
+     * @see BranchAndBoundMultiPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveRandom() {
+        Random random = new Random(42);
+        for (int n = 0; n < 100; n++) {
+            int size = random.nextInt(9);
+            int[] capacities = new int[1 + random.nextInt(3)];
+            for (int pack = 0; pack < capacities.length; pack++) {
+                capacities[pack] = random.nextInt(1000);
+            }
+            int[] indices = new int[size];
+            int[] weights = new int[size];
+            int[] costs = new int[size];
+            for (int i = 0; i < size; i++) {
+                indices[i] = i + 1;
+                weights[i] = random.nextInt(500);
+                costs[i] = random.nextInt(100);
+            }
+            PackProblem problem = new PackProblem(capacities, indices, weights, costs);
+
+            int[] assignment = solver.solve(problem);
+            long[] expected = enumerate(problem, new int[size], 0);
+
+            long[] load = new long[capacities.length];
+            long cost = 0;
+            long weight = 0;
+            for (int i = 0; i < size; i++) {
+                if (assignment[i] >= 0) {
+                    load[assignment[i]] += weights[i];
+                    cost += costs[i];
+                    weight += weights[i];
+                }
+            }
+            for (int pack = 0; pack < capacities.length; pack++) {
+                assertThat(load[pack], lessThanOrEqualTo((long) capacities[pack]));
+            }
+            assertThat(cost, equalTo(expected[0]));
+            assertThat(weight, equalTo(expected[1]));
+        }
+    }
+
+    /**
+     * Enumerates every distribution of the items from {@code depth} on, including the items left out.
+     *
+     * @return the best cost and its lowest weight
+     */
+    private static long[] enumerate(PackProblem problem, int[] assignment, int depth) {
+        if (depth == assignment.length) {
+            long[] load = new long[problem.packCount()];
+            long cost = 0;
+            long weight = 0;
+            for (int i = 0; i < assignment.length; i++) {
+                if (assignment[i] >= 0) {
+                    load[assignment[i]] += problem.getWeights()[i];
+                    cost += problem.getCosts()[i];
+                    weight += problem.getWeights()[i];
+                }
+            }
+            for (int pack = 0; pack < load.length; pack++) {
+                if (load[pack] > problem.getCapacities()[pack]) {
+                    return new long[]{-1, 0};
+                }
+            }
+            return new long[]{cost, weight};
+        }
+        long[] best = {-1, 0};
+        for (int pack = -1; pack < problem.packCount(); pack++) {
+            assignment[depth] = pack;
+            long[] candidate = enumerate(problem, assignment, depth + 1);
+            if (candidate[0] > best[0] || candidate[0] == best[0] && candidate[1] < best[1]) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+}
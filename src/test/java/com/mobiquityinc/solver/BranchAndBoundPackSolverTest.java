@@ -0,0 +1,143 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.randomProblem;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link BranchAndBoundPackSolver} class.
+ *
+ * @see BranchAndBoundPackSolver
+ */
+public class BranchAndBoundPackSolverTest {
+    private final BranchAndBoundPackSolver solver = new BranchAndBoundPackSolver();
+
+    /**
+     * Implementations with a single loop for matching and getting unmatched items will result into choosing 2,4 instead of the right
+     * solution 1,3,4.
+     *
+     * @see BranchAndBoundPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        PackProblem problem = PackProblem.of(pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("1,3,4"));
+    }
+
+    /**
+     * Validates that, when more than one combination has the same cost, the lightest one is chosen
+     *
+     * @see BranchAndBoundPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLowestWeight() {
+        PackProblem problem = PackProblem.of(pack("56", "0",
+                item(1, "90.72", "13"),
+                item(2, "33.80", "40"),
+                item(3, "43.15", "10"),
+                item(4, "37.97", "16"),
+                item(5, "46.81", "36"),
+                item(6, "48.77", "79"),
+                item(7, "81.80", "45"),
+                item(8, "19.36", "79"),
+                item(9, "6.76", "64")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("8,9"));
+    }
+
+    /**
+     * Validates that the solutions have the same cost and weight of the ones found by the dynamic programming solver, including items
+     * without weight or cost
+     *
+     * @see BranchAndBoundPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveRandom() {
+        Random random = new Random(42);
+        PackSolver reference = new DynamicProgrammingPackSolver();
+        for (int i = 0; i < 200; i++) {
+            PackProblem problem = randomProblem(random, 1 + random.nextInt(40), random.nextInt(10001), 100 + random.nextInt(5000));
+
+            BitSet expected = reference.solve(problem);
+            BitSet result = solver.solve(problem);
+
+            assertThat(totalWeight(problem, result), lessThanOrEqualTo((long) problem.getCapacity()));
+            assertThat(totalCost(problem, result), equalTo(totalCost(problem, expected)));
+            assertThat(totalWeight(problem, result), equalTo(totalWeight(problem, expected)));
+        }
+    }
+
+    /**
+     * Validates that the amount of nodes explored and pruned is accumulated and can be reset
+     *
+     * @see BranchAndBoundPackSolver#getNodesExplored()
+     * @see BranchAndBoundPackSolver#getNodesPruned()
+     * @see BranchAndBoundPackSolver#resetStatistics()
+     */
+    @Test
+    public void testStatistics() {
+        solver.solve(randomProblem(new Random(42), 30, 5000, 1000));
+
+        assertThat(solver.getNodesExplored(), greaterThan(0L));
+        assertThat(solver.getNodesPruned(), greaterThan(0L));
+
+        solver.resetStatistics();
+
+        assertThat(solver.getNodesExplored(), is(0L));
+        assertThat(solver.getNodesPruned(), is(0L));
+    }
+
+    /**
+     * Validates that the statistics of a single search contain only its own nodes, which are also added to the accumulated ones
+     *
+     * @see BranchAndBoundPackSolver#solve(PackProblem, java.util.function.BooleanSupplier, BranchAndBoundPackSolver.Statistics)
+     */
+    @Test
+    public void testSolveStatistics() {
+        solver.solve(randomProblem(new Random(42), 30, 5000, 1000));
+        long explored = solver.getNodesExplored();
+        long pruned = solver.getNodesPruned();
+
+        BranchAndBoundPackSolver.Statistics statistics = new BranchAndBoundPackSolver.Statistics();
+        solver.solve(randomProblem(new Random(7), 30, 5000, 1000), () -> false, statistics);
+
+        assertThat(statistics.getNodesExplored(), greaterThan(0L));
+        assertThat(statistics.getNodesPruned(), greaterThan(0L));
+        assertThat(solver.getNodesExplored(), is(explored + statistics.getNodesExplored()));
+        assertThat(solver.getNodesPruned(), is(pruned + statistics.getNodesPruned()));
+    }
+
+    /**
+     * Validates that a stopped search returns a valid solution right away, visiting only the nodes before the first check
+     *
+     * @see BranchAndBoundPackSolver#solve(PackProblem, java.util.function.BooleanSupplier)
+     */
+    @Test
+    public void testSolveStopped() {
+        PackProblem problem = randomProblem(new Random(42), 200, 100_000, 3000);
+
+        BitSet result = solver.solve(problem, () -> true);
+
+        assertThat(totalWeight(problem, result), lessThanOrEqualTo((long) problem.getCapacity()));
+        assertThat(totalCost(problem, result), greaterThan(0L));
+        assertThat(solver.getNodesExplored(), is(1024L));
+    }
+}
@@ -0,0 +1,111 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link CachingPackSolver} class.
+ *
+ * @see CachingPackSolver
+ */
+public class CachingPackSolverTest {
+    private final AtomicInteger solved = new AtomicInteger();
+    private final PackSolver reference = new DynamicProgrammingPackSolver();
+    private final CachingPackSolver solver = new CachingPackSolver(problem -> {
+        solved.incrementAndGet();
+        return reference.solve(problem);
+    }, 2);
+
+    /**
+     * Validates that the same items, in a different order and with different indexes, are served from the cache, having the solution
+     * mapped back to the caller's indexes
+     *
+     * @see CachingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveHit() {
+        PackProblem first = PackProblem.of(pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95")));
+        PackProblem second = PackProblem.of(pack("86", "0",
+                item(7, "12.00", "95"),
+                item(8, "35.00", "51"),
+                item(9, "74.00", "79"),
+                item(10, "30.00", "74")));
+
+        assertThat(first.toPack(solver.solve(first)).toString(), equalTo("1,3,4"));
+        assertThat(second.toPack(solver.solve(second)).toString(), equalTo("7,8,10"));
+        assertThat(solved.get(), is(1));
+        assertThat(solver.getHits(), is(1L));
+        assertThat(solver.getMisses(), is(1L));
+    }
+
+    /**
+     * Validates that items with the same weight and cost are interchangeable when mapping the solution back
+     *
+     * @see CachingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveDuplicatedItems() {
+        PackProblem first = PackProblem.of(pack("20", "0",
+                item(1, "10.00", "10"),
+                item(2, "10.00", "10"),
+                item(3, "10.00", "10")));
+        PackProblem second = PackProblem.of(pack("20", "0",
+                item(3, "10.00", "10"),
+                item(1, "10.00", "10"),
+                item(2, "10.00", "10")));
+
+        solver.solve(first);
+        assertThat(solver.solve(second).cardinality(), is(2));
+        assertThat(solver.getHits(), is(1L));
+    }
+
+    /**
+     * Validates that packs with a different capacity are not served from the cache
+     *
+     * @see CachingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveDifferentCapacity() {
+        solver.solve(PackProblem.of(pack("20", "0", item(1, "10.00", "10"))));
+        solver.solve(PackProblem.of(pack("5", "0", item(1, "10.00", "10"))));
+
+        assertThat(solved.get(), is(2));
+        assertThat(solver.getMisses(), is(2L));
+    }
+
+    /**
+     * Validates that the least recently used solution is evicted when the cache is full
+     *
+     * @see CachingPackSolver#getEvictions()
+     */
+    @Test
+    public void testEviction() {
+        PackProblem first = PackProblem.of(pack("10", "0", item(1, "1.00", "1")));
+        PackProblem second = PackProblem.of(pack("20", "0", item(1, "1.00", "1")));
+        PackProblem third = PackProblem.of(pack("30", "0", item(1, "1.00", "1")));
+
+        solver.solve(first);
+        solver.solve(second);
+        solver.solve(first);
+        solver.solve(third);
+        solver.solve(first);
+        solver.solve(second);
+
+        assertThat(solver.getHits(), is(2L));
+        assertThat(solver.getMisses(), is(4L));
+        assertThat(solver.getEvictions(), is(2L));
+        assertThat(solver.size(), is(2));
+    }
+}
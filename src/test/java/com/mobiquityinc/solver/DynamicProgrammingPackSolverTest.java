@@ -0,0 +1,120 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.randomProblem;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.comparesEqualTo;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test cases for validating the {@link DynamicProgrammingPackSolver} class.
+ *
+ * @see DynamicProgrammingPackSolver
+ */
+public class DynamicProgrammingPackSolverTest {
+    private final PackSolver solver = new DynamicProgrammingPackSolver();
+
+    /**
+     * Basic validation for the Item picking algorithm
+     *
+     * @see DynamicProgrammingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        Pack result = solve(pack("81", "0",
+                item(1, "53.38", "45"),
+                item(2, "88.62", "98"),
+                item(3, "78.48", "3"),
+                item(4, "72.30", "76"),
+                item(5, "30.18", "9"),
+                item(6, "46.34", "48")));
+
+        assertThat(result.toString(), equalTo("4"));
+        assertThat(result.getWeight(), comparesEqualTo(new BigDecimal("72.30")));
+        assertThat(result.getCost(), comparesEqualTo(BigDecimal.valueOf(76)));
+    }
+
+    /**
+     * Implementations that greedily pick the most valuable item first will result into choosing 4 instead of the right solution 1,2,3.
+     *
+     * @see DynamicProgrammingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveNotGreedy() {
+        Pack result = solve(pack("30", "0",
+                item(1, "10.00", "40"),
+                item(2, "10.00", "40"),
+                item(3, "10.00", "40"),
+                item(4, "25.00", "100")));
+
+        assertThat(result.toString(), equalTo("1,2,3"));
+    }
+
+    /**
+     * Validates that, when more than one combination has the same cost, the lightest one is chosen
+     *
+     * @see DynamicProgrammingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLowestWeight() {
+        Pack result = solve(pack("56", "0",
+                item(1, "90.72", "13"),
+                item(2, "33.80", "40"),
+                item(3, "43.15", "10"),
+                item(4, "37.97", "16"),
+                item(5, "46.81", "36"),
+                item(6, "48.77", "79"),
+                item(7, "81.80", "45"),
+                item(8, "19.36", "79"),
+                item(9, "6.76", "64")));
+
+        assertThat(result.toString(), equalTo("8,9"));
+    }
+
+    /**
+     * Validates that a pack where no item fits results into an empty solution
+     *
+     * @see DynamicProgrammingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveNoItemFits() {
+        Pack result = solve(pack("8", "0", item(1, "15.3", "34")));
+
+        assertThat(result.toString(), equalTo("-"));
+    }
+
+    /**
+     * Validates that reusing the workspace, for packs both larger and smaller than the previous ones, results into the same solutions of a
+     * new solver
+     *
+     * @see DynamicProgrammingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveReusedWorkspace() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            PackProblem problem = randomProblem(random, random.nextInt(30), random.nextInt(5000), 3000);
+
+            assertThat(solver.solve(problem), equalTo(new DynamicProgrammingPackSolver().solve(problem)));
+        }
+    }
+
+    /**
+     * Solves the given pack, converting the solution back into a Pack
+     *
+     * @param allItems a pack containing all items that can be chosen
+     * @return the solution for the pack
+     */
+    private Pack solve(Pack allItems) {
+        PackProblem problem = PackProblem.of(allItems);
+        return problem.toPack(solver.solve(problem));
+    }
+}
@@ -0,0 +1,81 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.randomProblem;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link FptasPackSolver} class.
+ *
+ * @see FptasPackSolver
+ */
+public class FptasPackSolverTest {
+    /**
+     * Basic validation for the Item picking algorithm, where the accuracy is enough to find the optimum
+     *
+     * @see FptasPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        PackSolver solver = new FptasPackSolver(0.01);
+        PackProblem problem = PackProblem.of(pack("81", "0",
+                item(1, "53.38", "45"),
+                item(2, "88.62", "98"),
+                item(3, "78.48", "3"),
+                item(4, "72.30", "76"),
+                item(5, "30.18", "9"),
+                item(6, "46.34", "48")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("4"));
+    }
+
+    /**
+     * Validates that the solutions fit the pack and cost at least {@code (1 - epsilon)} times the optimum, which is never higher than the
+     * reported upper bound
+     *
+     * @see FptasPackSolver#solve(PackProblem)
+     * @see FptasPackSolver#upperBound(PackProblem, long)
+     */
+    @Test
+    public void testSolveWithinEpsilon() {
+        Random random = new Random(42);
+        PackSolver reference = new DynamicProgrammingPackSolver();
+        for (double epsilon : new double[]{0.5, 0.1, 0.01}) {
+            PackSolver solver = new FptasPackSolver(epsilon);
+            for (int n = 0; n < 20; n++) {
+                PackProblem problem = randomProblem(random, random.nextInt(40), random.nextInt(10000), 3000);
+
+                long optimum = totalCost(problem, reference.solve(problem));
+                BitSet result = solver.solve(problem);
+                long cost = totalCost(problem, result);
+
+                assertThat(totalWeight(problem, result), lessThanOrEqualTo((long) problem.getCapacity()));
+                assertThat((double) cost, greaterThanOrEqualTo((1 - epsilon) * optimum));
+                assertThat(solver.upperBound(problem, cost), greaterThanOrEqualTo(optimum));
+            }
+        }
+    }
+
+    /**
+     * Validates that the accuracy must be between 0 and 1
+     *
+     * @see FptasPackSolver#FptasPackSolver(double)
+     */
+    @Test(expected = APIException.class)
+    public void testInvalidEpsilon() {
+        new FptasPackSolver(1);
+    }
+}
@@ -0,0 +1,59 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test cases for validating the {@link HeuristicPackSolver} class.
+ *
+ * @see HeuristicPackSolver
+ */
+public class HeuristicPackSolverTest {
+    private final PackSolver solver = new HeuristicPackSolver();
+
+    /**
+     * Implementations with a single loop for matching and getting unmatched items will result into choosing 2,4 instead of the right
+     * solution 1,3,4.
+     *
+     * @see HeuristicPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        Pack result = solve(pack("86", "0",
+                item(1, "30.00", "74"),
+                item(2, "74.00", "79"),
+                item(3, "35.00", "51"),
+                item(4, "12.00", "95")));
+
+        assertThat(result.toString(), equalTo("1,3,4"));
+    }
+
+    /**
+     * Validates that a pack where no item fits results into an empty solution
+     *
+     * @see HeuristicPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveNoItemFits() {
+        Pack result = solve(pack("8", "0", item(1, "15.3", "34")));
+
+        assertThat(result.toString(), equalTo("-"));
+    }
+
+    /**
+     * Solves the given pack, converting the solution back into a Pack
+     *
+     * @param allItems a pack containing all items that can be chosen
+     * @return the solution for the pack
+     */
+    private Pack solve(Pack allItems) {
+        PackProblem problem = PackProblem.of(allItems);
+        return problem.toPack(solver.solve(problem));
+    }
+}
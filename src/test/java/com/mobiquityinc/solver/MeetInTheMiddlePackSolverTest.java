@@ -0,0 +1,100 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.randomProblem;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link MeetInTheMiddlePackSolver} class.
+ *
+ * @see MeetInTheMiddlePackSolver
+ */
+public class MeetInTheMiddlePackSolverTest {
+    private final PackSolver solver = new MeetInTheMiddlePackSolver();
+
+    /**
+     * Basic validation for the Item picking algorithm
+     *
+     * @see MeetInTheMiddlePackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        PackProblem problem = PackProblem.of(pack("40", "0",
+                item(1, "17.00", "92"),
+                item(2, "21.00", "23"),
+                item(3, "13.00", "49"),
+                item(4, "37.00", "93"),
+                item(5, "5.00", "81"),
+                item(6, "5.00", "1"),
+                item(7, "9.00", "97")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("1,5,6,7"));
+    }
+
+    /**
+     * Validates that, when more than one combination has the same cost, the lightest one is chosen
+     *
+     * @see MeetInTheMiddlePackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLowestWeight() {
+        Pack allItems = pack("56", "0",
+                item(1, "90.72", "13"),
+                item(2, "33.80", "40"),
+                item(3, "43.15", "10"),
+                item(4, "37.97", "16"),
+                item(5, "46.81", "36"),
+                item(6, "48.77", "79"),
+                item(7, "81.80", "45"),
+                item(8, "19.36", "79"),
+                item(9, "6.76", "64"));
+        PackProblem problem = PackProblem.of(allItems);
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("8,9"));
+    }
+
+    /**
+     * Validates that the solutions for lists larger than 15 items have the same cost and weight of the ones found by the dynamic
+     * programming solver
+     *
+     * @see MeetInTheMiddlePackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLargeLists() {
+        Random random = new Random(42);
+        PackSolver reference = new DynamicProgrammingPackSolver();
+        for (int size = 16; size <= 50; size += 2) {
+            PackProblem problem = randomProblem(random, size, 1000 + random.nextInt(9001), 3000);
+
+            BitSet expected = reference.solve(problem);
+            BitSet result = solver.solve(problem);
+
+            assertThat(totalWeight(problem, result), lessThanOrEqualTo((long) problem.getCapacity()));
+            assertThat(totalCost(problem, result), equalTo(totalCost(problem, expected)));
+            assertThat(totalWeight(problem, result), equalTo(totalWeight(problem, expected)));
+        }
+    }
+
+    /**
+     * Validates that lists with more items than can be tracked by the solver are rejected
+     *
+     * @see MeetInTheMiddlePackSolver#solve(PackProblem)
+     */
+    @Test(expected = APIException.class)
+    public void testSolveTooManyItems() {
+        solver.solve(randomProblem(new Random(42), MeetInTheMiddlePackSolver.MAX_ITEMS + 1, 100, 100));
+    }
+}
@@ -0,0 +1,151 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.randomProblem;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+
+/**
+ * Test cases for validating the {@link MultiDimensionalPackSolver} class.
+ *
+ * @see MultiDimensionalPackSolver
+ */
+public class MultiDimensionalPackSolverTest {
+    private final PackSolver solver = new MultiDimensionalPackSolver();
+
+    /**
+     * Basic validation for the Item picking algorithm, where the most valuable items by weight don't fit the volume
+     *
+     * @see MultiDimensionalPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolve() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500}, 2, new int[]{1, 2, 3, 4},
+                new int[]{300, 400, 300, 300, 500, 100, 500, 100}, new int[]{50, 40, 30, 35});
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("1,4"));
+    }
+
+    /**
+     * Validates that a few items with large capacities in several dimensions, whose table would have a row of costs too large even for
+     * a single item, are solved by the branch and bound instead, without allocating the table
+     *
+     * @see MultiDimensionalPackSolver#solve(PackProblem)
+     */
+    @Test(timeout = 1000)
+    public void testSolveFewItemsLargeCapacities() {
+        PackProblem single = new PackProblem(new int[]{8000, 8000}, 2, new int[]{1}, new int[]{100, 100}, new int[]{100});
+        assertThat(single.toPack(solver.solve(single)).toString(), equalTo("1"));
+
+        PackProblem problem = new PackProblem(new int[]{10000, 10000, 10000}, 3, new int[]{1, 2, 3},
+                new int[]{6000, 100, 100, 5000, 5000, 5000, 5000, 4000, 5000}, new int[]{50, 40, 30});
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("2,3"));
+    }
+
+    /**
+     * Validates that the solutions for a single dimension have the same cost and weight of the ones found by the dynamic programming
+     * solver
+     *
+     * @see MultiDimensionalPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveSingleDimension() {
+        Random random = new Random(42);
+        PackSolver reference = new DynamicProgrammingPackSolver();
+        for (int n = 0; n < 20; n++) {
+            PackProblem problem = randomProblem(random, random.nextInt(20), random.nextInt(5000), 3000);
+
+            BitSet expected = reference.solve(problem);
+            BitSet result = solver.solve(problem);
+
+            assertThat(totalCost(problem, result), equalTo(totalCost(problem, expected)));
+            assertThat(totalWeight(problem, result), equalTo(totalWeight(problem, expected)));
+        }
+    }
+
+    /**
+     * Validates that the solutions with small capacities, solved by the table, have the same cost and weight of the ones found by
+     * enumerating all the subsets
+     *
+     * @see MultiDimensionalPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveSmallCapacities() {
+        assertSameAsEnumeration(new Random(42), 100);
+    }
+
+    /**
+     * Validates that the solutions with large capacities, solved by the branch and bound, have the same cost and weight of the ones found
+     * by enumerating all the subsets
+     *
+     * @see MultiDimensionalPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveLargeCapacities() {
+        assertSameAsEnumeration(new Random(42), 100_000);
+    }
+
+    private void assertSameAsEnumeration(Random random, int maxCapacity) {
+        for (int n = 0; n < 50; n++) {
+            int dimensions = 2 + random.nextInt(2);
+            int size = random.nextInt(12);
+            int[] capacities = new int[dimensions];
+            for (int k = 0; k < dimensions; k++) {
+                capacities[k] = random.nextInt(maxCapacity);
+            }
+            int[] indices = new int[size];
+            int[] weights = new int[size * dimensions];
+            int[] costs = new int[size];
+            for (int i = 0; i < size; i++) {
+                indices[i] = i + 1;
+                for (int k = 0; k < dimensions; k++) {
+                    weights[i * dimensions + k] = random.nextInt(maxCapacity / 3 + 1);
+                }
+                costs[i] = random.nextInt(100);
+            }
+            PackProblem problem = new PackProblem(capacities, dimensions, indices, weights, costs);
+
+            long[] result = usage(problem, solver.solve(problem));
+            long[] expected = {-1, 0};
+            for (int mask = 0; mask < 1 << size; mask++) {
+                long[] candidate = usage(problem, BitSet.valueOf(new long[]{mask}));
+                if (candidate[0] > expected[0] || candidate[0] == expected[0] && candidate[1] < expected[1]) {
+                    expected = candidate;
+                }
+            }
+
+            assertThat(result[0], equalTo(expected[0]));
+            assertThat(result[1], equalTo(expected[1]));
+        }
+    }
+
+    /**
+     * Sums the cost and weight of the chosen items.
+     *
+     * @return the cost and weight of the items, or a cost of {@code -1} if they don't fit any of the dimensions
+     */
+    private static long[] usage(PackProblem problem, BitSet chosen) {
+        int dimensions = problem.dimensions();
+        long[] used = new long[dimensions];
+        long cost = 0;
+        for (int i = chosen.nextSetBit(0); i >= 0; i = chosen.nextSetBit(i + 1)) {
+            cost += problem.getCosts()[i];
+            for (int k = 0; k < dimensions; k++) {
+                used[k] += problem.getWeights()[i * dimensions + k];
+            }
+        }
+        for (int k = 0; k < dimensions; k++) {
+            if (used[k] > problem.getCapacities()[k]) {
+                return new long[]{-1, 0};
+            }
+        }
+        return new long[]{cost, used[0]};
+    }
+}
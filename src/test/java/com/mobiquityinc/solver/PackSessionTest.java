@@ -0,0 +1,107 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.Item;
+import com.mobiquityinc.model.Pack;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.util.Random;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link PackSession} class.
+ *
+ * @see PackSession
+ */
+public class PackSessionTest {
+    private final PackSolver reference = new DynamicProgrammingPackSolver();
+
+    /**
+     * Validates that the initial items of the pack are solved
+     *
+     * @see PackSession#getSolution()
+     */
+    @Test
+    public void testGetSolution() {
+        PackSession session = new PackSession(pack("81", "0",
+                item(1, "53.38", "45"),
+                item(2, "88.62", "98"),
+                item(3, "78.48", "3"),
+                item(4, "72.30", "76"),
+                item(5, "30.18", "9"),
+                item(6, "46.34", "48")));
+
+        assertThat(session.getSolution().toString(), equalTo("4"));
+    }
+
+    /**
+     * Validates that every edit, in a random sequence of additions and removals, results into the same solution found by solving all
+     * the current items from scratch
+     *
+     * @see PackSession#addItem(Item)
+     * @see PackSession#removeItem(int)
+     */
+    @Test
+    public void testEdits() {
+        Random random = new Random(42);
+        PackSession session = new PackSession(pack("50", "0"));
+        for (int index = 1; index <= 300; index++) {
+            if (random.nextInt(3) == 0 && !session.getItems().isEmpty()) {
+                int removed = session.getItems().get(random.nextInt(session.getItems().size())).getIndex();
+                assertThat(session.removeItem(removed), is(true));
+            } else {
+                session.addItem(item(index, BigDecimal.valueOf(1 + random.nextInt(6000), 2).toPlainString(),
+                        BigDecimal.valueOf(random.nextInt(10000), 2).toPlainString()));
+            }
+
+            Pack current = pack("50", "0");
+            current.getItems().addAll(session.getItems());
+            PackProblem problem = PackProblem.of(current);
+            assertThat(session.getSolution(), equalTo(problem.toPack(reference.solve(problem))));
+        }
+    }
+
+    /**
+     * Validates that removing an item not in the session doesn't change it
+     *
+     * @see PackSession#removeItem(int)
+     */
+    @Test
+    public void testRemoveItemMissing() {
+        PackSession session = new PackSession(pack("10", "0", item(1, "5", "10")));
+
+        assertThat(session.removeItem(2), is(false));
+        assertThat(session.getSolution().toString(), equalTo("1"));
+    }
+
+    /**
+     * Validates that items with an index already in the session are rejected
+     *
+     * @see PackSession#addItem(Item)
+     */
+    @Test(expected = APIException.class)
+    public void testAddItemDuplicated() {
+        PackSession session = new PackSession(pack("10", "0", item(1, "5", "10")));
+        session.addItem(item(1, "3", "10"));
+    }
+
+    /**
+     * Validates that packs with several capacities are rejected
+     *
+     * @see PackSession#PackSession(Pack)
+     */
+    @Test(expected = APIException.class)
+    public void testSeveralPacks() {
+        Pack pack = pack("10", "0", item(1, "5", "10"));
+        pack.getCapacities().add(BigDecimal.TEN);
+        pack.getCapacities().add(BigDecimal.ONE);
+        new PackSession(pack);
+    }
+}
@@ -0,0 +1,104 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.PackMocker;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+
+/**
+ * Test cases for validating the {@link ReducingPackSolver} class.
+ *
+ * @see ReducingPackSolver
+ */
+public class ReducingPackSolverTest {
+    private final AtomicInteger solved = new AtomicInteger();
+    private final PackSolver reference = new DynamicProgrammingPackSolver();
+    private final ReducingPackSolver solver = new ReducingPackSolver(problem -> {
+        solved.incrementAndGet();
+        return reference.solve(problem);
+    });
+
+    /**
+     * Validates that the reduced problems are solved into solutions as good as the ones of the plain solver
+     *
+     * @see ReducingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 500; i++) {
+            PackProblem problem = PackMocker.randomProblem(random, 1 + random.nextInt(20), 1 + random.nextInt(10000), 10000);
+            BitSet expected = reference.solve(problem);
+            BitSet chosen = solver.solve(problem);
+
+            assertThat(totalCost(problem, chosen), equalTo(totalCost(problem, expected)));
+            assertThat(totalWeight(problem, chosen), equalTo(totalWeight(problem, expected)));
+        }
+        assertThat(solver.getItems(), greaterThan(solver.getEliminated()));
+        assertThat(solver.getEliminated(), greaterThan(0L));
+    }
+
+    /**
+     * Validates that items heavier than the pack are eliminated, and that the remaining ones are all chosen without calling the
+     * decorated solver when they fit together
+     *
+     * @see ReducingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveEverythingFits() {
+        PackProblem problem = PackProblem.of(pack("20", "0",
+                item(1, "25.00", "90"),
+                item(2, "10.00", "10"),
+                item(3, "0.00", "5"),
+                item(4, "9.00", "20")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("2,3,4"));
+        assertThat(solved.get(), is(0));
+        assertThat(solver.getEliminated(), is(4L));
+    }
+
+    /**
+     * Validates that an item dominated by a lighter and more valuable one is eliminated when both don't fit together, and that items
+     * without cost are left out
+     *
+     * @see ReducingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveDominated() {
+        PackProblem problem = PackProblem.of(pack("10", "0",
+                item(1, "6.00", "30"),
+                item(2, "7.00", "20"),
+                item(3, "4.00", "25"),
+                item(4, "1.00", "0")));
+
+        assertThat(problem.toPack(solver.solve(problem)).toString(), equalTo("1,3"));
+        assertThat(solver.getEliminated(), is(4L));
+    }
+
+    /**
+     * Validates that problems with several dimensions are passed unchanged to the decorated solver
+     *
+     * @see ReducingPackSolver#solve(PackProblem)
+     */
+    @Test
+    public void testSolveSeveralDimensions() {
+        PackProblem problem = new PackProblem(new int[]{1000, 500}, 2, new int[]{1, 2}, new int[]{300, 400, 300, 100},
+                new int[]{5000, 4000});
+        ReducingPackSolver multiDimensional = new ReducingPackSolver(new MultiDimensionalPackSolver());
+
+        assertThat(problem.toPack(multiDimensional.solve(problem)).toString(), equalTo("1,2"));
+        assertThat(multiDimensional.getItems(), is(0L));
+    }
+}
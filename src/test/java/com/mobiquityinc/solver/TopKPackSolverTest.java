@@ -0,0 +1,102 @@
+package com.mobiquityinc.solver;
+
+import com.mobiquityinc.PackMocker;
+import com.mobiquityinc.exception.APIException;
+import com.mobiquityinc.model.PackProblem;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static com.mobiquityinc.PackMocker.item;
+import static com.mobiquityinc.PackMocker.pack;
+import static com.mobiquityinc.PackMocker.totalCost;
+import static com.mobiquityinc.PackMocker.totalWeight;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+
+/**
+ * Test cases for validating the {@link TopKPackSolver} class.
+ *
+ * @see TopKPackSolver
+ */
+public class TopKPackSolverTest {
+    private final TopKPackSolver solver = new TopKPackSolver(new DynamicProgrammingPackSolver());
+
+    /**
+     * Validates that the best solutions are found in order, having the same costs and weights of the best feasible subsets found by
+     * enumerating all of them, and that no solution is repeated
+     *
+     * @see TopKPackSolver#solve(PackProblem, int)
+     */
+    @Test
+    public void testSolveRandom() {
+        Random random = new Random(42);
+        for (int i = 0; i < 50; i++) {
+            PackProblem problem = PackMocker.randomProblem(random, 1 + random.nextInt(10), 1 + random.nextInt(5000), 3000);
+            List<long[]> expected = allFeasible(problem);
+            int k = 1 + random.nextInt(40);
+
+            List<BitSet> solutions = solver.solve(problem, k);
+
+            assertThat(solutions.size(), is(Math.min(k, expected.size())));
+            assertThat(new HashSet<>(solutions).size(), is(solutions.size()));
+            for (int s = 0; s < solutions.size(); s++) {
+                assertThat(totalWeight(problem, solutions.get(s)), lessThanOrEqualTo((long) problem.getCapacity()));
+                assertThat(new long[]{totalCost(problem, solutions.get(s)), totalWeight(problem, solutions.get(s))},
+                        equalTo(expected.get(s)));
+            }
+        }
+    }
+
+    /**
+     * Validates that all the feasible subsets are returned when there are less than {@code k} of them
+     *
+     * @see TopKPackSolver#solve(PackProblem, int)
+     */
+    @Test
+    public void testSolveFewerSolutions() {
+        PackProblem problem = PackProblem.of(pack("10", "0",
+                item(1, "6.00", "30"),
+                item(2, "5.00", "20"),
+                item(3, "11.00", "50")));
+
+        List<String> solutions = solver.solve(problem, 10).stream()
+                .map(chosen -> problem.toPack(chosen).toString())
+                .collect(Collectors.toList());
+
+        assertThat(solutions.toString(), equalTo("[1, 2, -]"));
+    }
+
+    /**
+     * Validates that the amount of solutions must be positive
+     *
+     * @see TopKPackSolver#solve(PackProblem, int)
+     */
+    @Test(expected = APIException.class)
+    public void testSolveInvalidK() {
+        solver.solve(PackProblem.of(pack("10", "0", item(1, "6.00", "30"))), 0);
+    }
+
+    /**
+     * Enumerates the cost and weight of every feasible subset, ordered by highest cost, then lowest weight.
+     */
+    private static List<long[]> allFeasible(PackProblem problem) {
+        List<long[]> subsets = new ArrayList<>();
+        for (long mask = 0; mask < 1L << problem.size(); mask++) {
+            BitSet subset = BitSet.valueOf(new long[]{mask});
+            if (totalWeight(problem, subset) <= problem.getCapacity()) {
+                subsets.add(new long[]{totalCost(problem, subset), totalWeight(problem, subset)});
+            }
+        }
+        subsets.sort(Comparator.comparingLong((long[] subset) -> -subset[0]).thenComparingLong(subset -> subset[1]));
+        return subsets;
+    }
+}